@@ -0,0 +1,52 @@
+-- Benchmark: busca por nome em project com 1M linhas, antes e depois de ix_project_name_trgm (V6).
+--
+-- Uso (banco descartável, após subir a aplicação uma vez para aplicar as migrações):
+--   psql -h localhost -U admin -d portfolio -f docs/benchmarks/project-name-trgm.sql
+--
+-- Esperado: sem o índice, Seq Scan em project com filtro lower(name) ~~ '%...%';
+-- com o índice, Bitmap Index Scan em ix_project_name_trgm (LIKE e operador %).
+
+\timing on
+
+-- Massa: 1M projetos com nomes variados
+INSERT INTO project (name, start_date, expected_end_date, total_budget, manager_external_id, status, risk)
+SELECT 'Projeto ' || md5(g::text) || ' ' || (ARRAY['Alpha','Beta','Gamma','Delta','Omega'])[1 + g % 5],
+       DATE '2020-01-01' + (g % 1500),
+       DATE '2020-01-01' + (g % 1500) + 90,
+       1000 + (g % 500000),
+       '00000000-0000-0000-0000-000000000001',
+       'EM_ANALISE',
+       'BAIXO'
+FROM generate_series(1, 1000000) g;
+
+ANALYZE project;
+
+-- 1) Sem o índice trigram
+DROP INDEX IF EXISTS ix_project_name_trgm;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id FROM project WHERE lower(name) LIKE '%3f2a%' ORDER BY id LIMIT 20;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, similarity(lower(name), 'projeto 3f2a omega') AS rank
+FROM project
+WHERE lower(name) % 'projeto 3f2a omega'
+ORDER BY rank DESC, id
+LIMIT 200;
+
+-- 2) Com o índice trigram (mesma definição da V6)
+CREATE INDEX ix_project_name_trgm ON project USING gin (lower(name) gin_trgm_ops);
+ANALYZE project;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id FROM project WHERE lower(name) LIKE '%3f2a%' ORDER BY id LIMIT 20;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, similarity(lower(name), 'projeto 3f2a omega') AS rank
+FROM project
+WHERE lower(name) % 'projeto 3f2a omega'
+ORDER BY rank DESC, id
+LIMIT 200;
+
+-- Limpeza da massa
+DELETE FROM project WHERE manager_external_id = '00000000-0000-0000-0000-000000000001' AND name LIKE 'Projeto %';
@@ -0,0 +1,43 @@
+package com.github.dennisoliveira.portfolio.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+// Banco em uso (Postgres em produção, H2 em testes/dev) para escolher SQL específico de fornecedor
+@Slf4j
+@Component
+public class DatabasePlatform {
+
+    public enum Vendor { POSTGRESQL, H2, OTHER }
+
+    private final Vendor vendor;
+
+    public DatabasePlatform(DataSource dataSource) {
+        this.vendor = detect(dataSource);
+    }
+
+    public Vendor vendor() {
+        return vendor;
+    }
+
+    public boolean isPostgres() {
+        return vendor == Vendor.POSTGRESQL;
+    }
+
+    private static Vendor detect(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            if ("PostgreSQL".equalsIgnoreCase(product)) return Vendor.POSTGRESQL;
+            if ("H2".equalsIgnoreCase(product)) return Vendor.H2;
+            return Vendor.OTHER;
+        } catch (MetaDataAccessException e) {
+            log.warn("Could not detect database vendor: {}", e.getMessage());
+            return Vendor.OTHER;
+        }
+    }
+}
@@ -1,15 +1,133 @@
 package com.github.dennisoliveira.portfolio.config;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+@Slf4j
 @Configuration
 public class MemberClientConfig {
 
+    private static final Pattern MEMBER_BY_ID = Pattern.compile(".*/members/(?!batch-get|changes)[^/]+$");
+
+    // Pool dedicado à Members API; com metrics(true) o Reactor Netty publica gauges reactor.netty.connection.provider.*
+    // (conexões ativas, ociosas, aquisições pendentes) e o timer de tempo de aquisição no registry global do Micrometer
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider membersConnectionProvider(
+            @Value("${members.api.pool.max-connections:50}") int maxConnections,
+            @Value("${members.api.pool.pending-acquire-max-count:200}") int pendingAcquireMaxCount,
+            @Value("${members.api.pool.pending-acquire-timeout:2s}") Duration pendingAcquireTimeout,
+            @Value("${members.api.pool.max-idle-time:30s}") Duration maxIdleTime,
+            @Value("${members.api.pool.max-life-time:5m}") Duration maxLifeTime,
+            @Value("${members.api.pool.evict-in-background:30s}") Duration evictInBackground) {
+
+        return ConnectionProvider.builder("members")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictInBackground)
+                .metrics(true)
+                .build();
+    }
+
     @Bean
-    public WebClient membersWebClient(@Value("${members.api.base-url}") String baseUrl) {
-        return WebClient.builder().baseUrl(baseUrl).build();
+    public WebClient membersWebClient(
+            @Value("${members.api.base-url}") String baseUrl,
+            @Value("${members.api.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${members.api.response-timeout:5s}") Duration responseTimeout,
+            @Value("${members.api.pool.keep-alive:true}") boolean keepAlive,
+            @Value("${members.api.pool.http2:false}") boolean http2,
+            ConnectionProvider membersConnectionProvider) {
+
+        HttpClient httpClient = HttpClient.create(membersConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, keepAlive)
+                .keepAlive(keepAlive)
+                .responseTimeout(responseTimeout)
+                // uri fixa por template para não explodir a cardinalidade das métricas por id de membro
+                .metrics(true, MemberClientConfig::uriTag);
+
+        if (http2) {
+            httpClient = httpClient.protocol(baseUrl.startsWith("https")
+                    ? new HttpProtocol[]{HttpProtocol.H2, HttpProtocol.HTTP11}
+                    : new HttpProtocol[]{HttpProtocol.H2C, HttpProtocol.HTTP11});
+        }
+
+        return WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    // O Reactor Netty entrega o caminho completo (com o prefixo da base-url, ex.: /external/members/<id>)
+    static String uriTag(String uri) {
+        return MEMBER_BY_ID.matcher(uri).matches() ? "/members/{id}" : uri;
+    }
+
+    @Bean
+    public CircuitBreaker membersCircuitBreaker(
+            @Value("${members.api.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${members.api.circuit-breaker.slow-call-rate-threshold:50}") float slowCallRateThreshold,
+            @Value("${members.api.circuit-breaker.slow-call-duration-threshold:2s}") Duration slowCallDuration,
+            @Value("${members.api.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${members.api.circuit-breaker.minimum-number-of-calls:10}") int minimumNumberOfCalls,
+            @Value("${members.api.circuit-breaker.wait-duration-in-open-state:30s}") Duration waitInOpenState,
+            @Value("${members.api.circuit-breaker.permitted-calls-in-half-open-state:3}") int permittedInHalfOpen,
+            MeterRegistry meterRegistry) {
+
+        var config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(waitInOpenState)
+                .permittedNumberOfCallsInHalfOpenState(permittedInHalfOpen)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .build();
+
+        var registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+
+        var circuitBreaker = registry.circuitBreaker("members");
+        circuitBreaker.getEventPublisher().onStateTransition(e ->
+                log.warn("Members API circuit breaker {}", e.getStateTransition()));
+        return circuitBreaker;
+    }
+
+    @Bean
+    public Bulkhead membersBulkhead(
+            @Value("${members.api.bulkhead.max-concurrent-calls:20}") int maxConcurrentCalls,
+            MeterRegistry meterRegistry) {
+
+        var config = BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build();
+
+        var registry = BulkheadRegistry.of(config);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead("members");
     }
-}
\ No newline at end of file
+}
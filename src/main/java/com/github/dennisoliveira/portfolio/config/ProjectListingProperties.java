@@ -0,0 +1,13 @@
+package com.github.dennisoliveira.portfolio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+// Limites da listagem de projetos (projects.search.* e projects.page.*)
+@ConfigurationProperties("projects")
+public record ProjectListingProperties(@DefaultValue Search search, @DefaultValue Page page) {
+
+    public record Search(@DefaultValue("500") int fuzzyMaxCandidates) {}
+
+    public record Page(@DefaultValue("10000") long estimateExactBelow) {}
+}
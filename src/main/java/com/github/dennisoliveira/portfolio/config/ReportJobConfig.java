@@ -0,0 +1,26 @@
+package com.github.dennisoliveira.portfolio.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ReportJobConfig {
+
+    // Pool limitado: fila cheia rejeita novos jobs em vez de acumular consultas pesadas no banco
+    @Bean
+    public ThreadPoolTaskExecutor reportJobExecutor(
+            @Value("${portfolio.report.jobs.pool-size:2}") int poolSize,
+            @Value("${portfolio.report.jobs.queue-capacity:20}") int queueCapacity) {
+
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -24,7 +24,10 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/actuator/health", "/external/**").permitAll()
+                        .requestMatchers("/admin/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/**").hasAnyRole("USER","ADMIN")
+                        // Gerar um relatório em segundo plano equivale a lê-lo: mesmo acesso dos GET de /portfolio/report
+                        .requestMatchers(HttpMethod.POST, "/portfolio/report/jobs").hasAnyRole("USER","ADMIN")
                         .anyRequest().hasRole("ADMIN")
                 )
                 .httpBasic(Customizer.withDefaults())
@@ -1,13 +1,23 @@
 package com.github.dennisoliveira.portfolio.controller;
 
 import com.github.dennisoliveira.portfolio.dto.PortfolioReportResponse;
+import com.github.dennisoliveira.portfolio.dto.PortfolioTimeseriesResponse;
+import com.github.dennisoliveira.portfolio.dto.PortfolioTimeseriesResponse.DateField;
+import com.github.dennisoliveira.portfolio.dto.PortfolioTimeseriesResponse.Granularity;
+import com.github.dennisoliveira.portfolio.dto.ReportJobRequest;
+import com.github.dennisoliveira.portfolio.dto.ReportJobResponse;
 import com.github.dennisoliveira.portfolio.service.PortfolioReportService;
+import com.github.dennisoliveira.portfolio.service.ReportJobService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/portfolio")
@@ -16,10 +26,41 @@ import org.springframework.web.bind.annotation.RestController;
 public class PortfolioController {
 
     private final PortfolioReportService reportService;
+    private final ReportJobService jobService;
 
     @Operation(summary = "Gerar relatório de projetos")
     @GetMapping("/report")
     public PortfolioReportResponse report() {
         return reportService.build();
     }
-}
\ No newline at end of file
+
+    @Operation(
+        summary = "Série temporal do portfólio por status, risco e gerente",
+        description = "Agrupa por mês ou trimestre da data de início (START_DATE) ou da data prevista de término (EXPECTED_END_DATE).")
+    @GetMapping("/report/timeseries")
+    public PortfolioTimeseriesResponse timeseries(
+            @RequestParam(defaultValue = "MONTH") Granularity granularity,
+            @RequestParam(defaultValue = "START_DATE") DateField dateField,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return reportService.timeseries(granularity, dateField, from, to);
+    }
+
+    @Operation(
+        summary = "Gerar relatório em segundo plano",
+        description = "Sem corpo gera o relatório geral (SNAPSHOT). Pedidos idênticos em andamento retornam o mesmo job.")
+    @PostMapping("/report/jobs")
+    public ResponseEntity<ReportJobResponse> submitJob(@RequestBody(required = false) ReportJobRequest body) {
+        ReportJobResponse job = jobService.submit(body);
+        return ResponseEntity.accepted()
+                .location(URI.create("/portfolio/report/jobs/" + job.id()))
+                .body(job);
+    }
+
+    @Operation(summary = "Consultar status e resultado de um job de relatório")
+    @GetMapping("/report/jobs/{id}")
+    public ReportJobResponse getJob(@PathVariable UUID id) {
+        return jobService.get(id);
+    }
+}
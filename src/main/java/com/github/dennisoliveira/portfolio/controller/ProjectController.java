@@ -1,31 +1,45 @@
 package com.github.dennisoliveira.portfolio.controller;
 
 import com.github.dennisoliveira.portfolio.domain.Project;
-import com.github.dennisoliveira.portfolio.domain.ProjectStatus;
 import com.github.dennisoliveira.portfolio.dto.AllocationRequest;
+import com.github.dennisoliveira.portfolio.dto.BulkAllocationRequest;
+import com.github.dennisoliveira.portfolio.dto.BulkAllocationResponse;
 import com.github.dennisoliveira.portfolio.dto.ChangeStatusRequest;
+import com.github.dennisoliveira.portfolio.dto.CursorPageResponse;
+import com.github.dennisoliveira.portfolio.dto.NameMatch;
+import com.github.dennisoliveira.portfolio.dto.PageResponse;
+import com.github.dennisoliveira.portfolio.dto.PageTotal;
 import com.github.dennisoliveira.portfolio.dto.ProjectCreateRequest;
+import com.github.dennisoliveira.portfolio.dto.ProjectFields;
+import com.github.dennisoliveira.portfolio.dto.ProjectFilter;
+import com.github.dennisoliveira.portfolio.dto.ProjectInclude;
 import com.github.dennisoliveira.portfolio.dto.ProjectResponse;
 import com.github.dennisoliveira.portfolio.mapper.ProjectMapper;
+import com.github.dennisoliveira.portfolio.repository.ProjectSeek;
 import com.github.dennisoliveira.portfolio.service.ProjectService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
-import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/projects")
 @RequiredArgsConstructor
+@Validated
 @Tag(name = "Projects")
 public class ProjectController {
 
@@ -40,27 +54,71 @@ public class ProjectController {
         return ResponseEntity.status(HttpStatus.CREATED).body(mapper.toResponse(saved));
     }
 
-    @Operation(summary = "Listar todos os projetos com paginação")
+    @Operation(
+        summary = "Listar todos os projetos com paginação",
+        description = """
+          - nameMatch=FUZZY ordena por similaridade do nome (pg_trgm no Postgres), ignorando o sort informado; considera só os projects.search.fuzzy-max-candidates mais similares e, se houver mais, o total sai como ESTIMATED.
+          - fields: campos retornados (ex.: id,name,status). Sem description, a consulta não lê a coluna TEXT.
+          - include=members: embute os membros alocados de cada projeto (uma única consulta para a página toda).
+          - total: EXACT (count(*)), ESTIMATED (estimativa do planner no Postgres; count exato em resultados pequenos) ou NONE (sem total, apenas hasNext).
+        """)
     @GetMapping
-    public Page<ProjectResponse> listPaged(
-            @RequestParam(required = false) String name,
-            @RequestParam(required = false) ProjectStatus status,
-            @RequestParam(required = false) String managerExternalId,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDateFrom,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDateTo,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate expectedEndFrom,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate expectedEndTo,
+    public PageResponse<?> listPaged(
+            @ParameterObject ProjectFilter filter,
+            @RequestParam(defaultValue = "CONTAINS") NameMatch nameMatch,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String include,
+            @RequestParam(defaultValue = "EXACT") PageTotal total,
             @PageableDefault(size = 20, sort = "id") Pageable pageable
     ) {
-        return service.list(name, status, managerExternalId, startDateFrom, startDateTo, expectedEndFrom, expectedEndTo, pageable)
-                .map(mapper::toResponse);
+        Set<String> selected = parseFields(fields);
+
+        PageResponse<ProjectResponse> page = ProjectFields.includes(selected, "description") || nameMatch == NameMatch.FUZZY
+                ? service.listPage(filter, nameMatch, pageable, total).map(mapper::toResponse)
+                : service.listSummaryPage(filter, pageable, total).map(mapper::toResponse);
+
+        if (withMembers(selected, include)) {
+            var members = service.allocatedMembersByProject(page.content().stream().map(ProjectResponse::id).toList());
+            page = page.map(r -> r.withMembers(members.getOrDefault(r.id(), List.of())));
+        }
+        return selected == null ? page : page.map(r -> ProjectFields.select(r, selected));
+    }
+
+    @Operation(
+        summary = "Listar projetos com paginação por cursor (keyset)",
+        description = """
+          - sort: id, startDate, expectedEndDate ou totalBudget, com direção (ex.: startDate,desc).
+          - Envie o nextCursor da resposta anterior em cursor para a próxima página; o cursor já carrega a ordenação.
+          - Não retorna total de elementos (sem count).
+        """)
+    @GetMapping("/scroll")
+    public CursorPageResponse<ProjectResponse> scroll(
+            @ParameterObject ProjectFilter filter,
+            @RequestParam(defaultValue = "id,asc") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(200) int size
+    ) {
+        return service.scroll(filter, toSeek(sort, cursor), size).map(mapper::toResponse);
     }
 
-    @Operation(summary = "Exibir projeto por id")
+    @Operation(
+        summary = "Exibir projeto por id",
+        description = "fields: campos retornados (ex.: id,name,status). include=members: embute os membros alocados.")
     @GetMapping("/{id}")
-    public ProjectResponse getById(@PathVariable Long id) {
-        Project p = service.getById(id);
-        return mapper.toResponse(p);
+    public Object getById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String include
+    ) {
+        Set<String> selected = parseFields(fields);
+
+        ProjectResponse response = ProjectFields.includes(selected, "description")
+                ? mapper.toResponse(service.getById(id))
+                : mapper.toResponse(service.getSummaryById(id));
+        if (withMembers(selected, include)) {
+            response = response.withMembers(service.allocatedMembersByProject(List.of(id)).get(id));
+        }
+        return selected == null ? response : ProjectFields.select(response, selected);
     }
 
     @Operation(summary = "Atualizar projeto pelo id")
@@ -110,6 +168,35 @@ public class ProjectController {
         projectService.allocateMembers(id, req.memberExternalIds());
     }
 
+    @Operation(
+    summary = "Substituir todos os membros alocados em um projeto",
+    description = """
+      Informe a equipe completa desejada; membros ausentes são removidos e os novos, alocados, numa única transação.
+      Regras:
+      - Equipe final: 1..10 membros.
+      - Novos membros: role FUNCIONARIO (validados na API externa) e ≤3 projetos ativos.
+      - Idempotente: reenviar a mesma lista não altera nada.
+    """)
+    @PutMapping("/{id}/allocations")
+    public List<String> replaceAllocations(
+            @PathVariable Long id,
+            @Valid @RequestBody AllocationRequest req
+    ) {
+        return projectService.replaceAllocations(id, req.memberExternalIds());
+    }
+
+    @Operation(
+    summary = "Alocar membros em vários projetos de uma vez",
+    description = """
+      Recebe um mapa projectId → memberExternalIds e devolve o resultado de cada projeto
+      (ALLOCATED, UNCHANGED ou FAILED com o motivo). Falha em um projeto não impede os demais.
+      Mesmas regras da alocação individual; o limite de 3 projetos ativos por membro considera o lote inteiro.
+    """)
+    @PostMapping("/allocations/bulk")
+    public BulkAllocationResponse bulkAllocate(@Valid @RequestBody BulkAllocationRequest req) {
+        return projectService.bulkAllocate(req.allocations());
+    }
+
     @Operation(summary = "Remover um membro alocado em um projeto")
     @DeleteMapping("/{id}/allocations/{memberExternalId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
@@ -126,4 +213,35 @@ public class ProjectController {
         return projectService.listAllocatedMembers(id);
     }
 
-}
\ No newline at end of file
+    // fields=...,members também pede os membros; com fields sem members, include=members não carrega nada
+    private static boolean withMembers(Set<String> selected, String include) {
+        Set<ProjectInclude> includes;
+        try {
+            includes = ProjectInclude.parse(include);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return selected != null ? selected.contains("members") : includes.contains(ProjectInclude.MEMBERS);
+    }
+
+    private static Set<String> parseFields(String fields) {
+        try {
+            return ProjectFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private static ProjectSeek toSeek(String sort, String cursor) {
+        try {
+            if (cursor != null && !cursor.isBlank()) {
+                return ProjectSeek.decode(cursor);
+            }
+            String[] parts = sort.split(",");
+            var direction = parts.length > 1 ? Sort.Direction.fromString(parts[1].trim()) : Sort.Direction.ASC;
+            return ProjectSeek.first(ProjectSeek.SortField.fromProperty(parts[0].trim()), direction);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.github.dennisoliveira.portfolio.controller.admin;
+
+import com.github.dennisoliveira.portfolio.dto.MemberCacheStatsResponse;
+import com.github.dennisoliveira.portfolio.integration.members.MemberCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/admin/members/cache")
+@RequiredArgsConstructor
+@Tag(name = "Admin")
+public class MemberCacheAdminController {
+
+    private final MemberCache memberCache;
+
+    @Operation(summary = "Exibir estatísticas do cache de membros")
+    @GetMapping
+    public MemberCacheStatsResponse stats() {
+        var s = memberCache.stats();
+        return new MemberCacheStatsResponse(memberCache.size(), s.hitCount(), s.missCount(), s.evictionCount(), s.hitRate());
+    }
+
+    @Operation(summary = "Invalidar todo o cache de membros")
+    @DeleteMapping
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void invalidateAll() {
+        memberCache.invalidateAll();
+    }
+
+    @Operation(summary = "Invalidar um membro no cache")
+    @DeleteMapping("/{memberExternalId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void invalidate(@PathVariable String memberExternalId) {
+        memberCache.invalidate(memberExternalId);
+    }
+}
@@ -0,0 +1,36 @@
+package com.github.dennisoliveira.portfolio.controller.admin;
+
+import com.github.dennisoliveira.portfolio.dto.ProjectQueryCacheStatsResponse;
+import com.github.dennisoliveira.portfolio.repository.ProjectQueryShapes;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/admin/projects/query-cache")
+@RequiredArgsConstructor
+@Tag(name = "Admin")
+public class ProjectQueryCacheAdminController {
+
+    private final ProjectQueryShapes shapes;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Operation(
+        summary = "Exibir acertos do cache de consultas de listagem de projetos",
+        description = "Contadores do plano do Hibernate só são preenchidos com hibernate.generate_statistics=true.")
+    @GetMapping
+    public ProjectQueryCacheStatsResponse stats() {
+        var s = shapes.stats();
+        var hibernate = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return new ProjectQueryCacheStatsResponse(
+                shapes.size(), s.hitCount(), s.missCount(), s.hitRate(),
+                hibernate.isStatisticsEnabled(),
+                hibernate.getQueryPlanCacheHitCount(),
+                hibernate.getQueryPlanCacheMissCount());
+    }
+}
@@ -0,0 +1,49 @@
+package com.github.dennisoliveira.portfolio.controller.mock;
+
+import com.github.dennisoliveira.portfolio.controller.mock.ExternalMemberMockController.ExternalRole;
+import com.github.dennisoliveira.portfolio.controller.mock.MockFaultInjector.FaultSettings;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/mock/members")
+@RequiredArgsConstructor
+@Validated
+@Tag(name = "Member (Mock external members)")
+public class ExternalMemberMockAdminController {
+
+    private final ExternalMemberMockController mock;
+    private final MockFaultInjector faults;
+
+    @Operation(summary = "Exibir a configuração de latência e falhas do mock")
+    @GetMapping("/faults")
+    public FaultSettings getFaults() {
+        return faults.settings();
+    }
+
+    @Operation(
+        summary = "Alterar latência e falhas injetadas no mock",
+        description = """
+          - latencyMode: NONE, FIXED (fixedMs), UNIFORM (minMs..maxMs), LONG_TAIL (Pareto com escala minMs, forma tailAlpha, limite maxMs).
+          - errorRate / notFoundRate / timeoutRate: probabilidades (0..1) de 503, 404 e timeout (espera timeoutMs e responde 504).
+        """)
+    @PutMapping("/faults")
+    public FaultSettings updateFaults(@Valid @RequestBody FaultSettings body) {
+        faults.update(body);
+        return faults.settings();
+    }
+
+    @Operation(summary = "Gerar N membros sintéticos para cada role (FUNCIONARIO, GERENTE)")
+    @PostMapping("/seed")
+    public Map<ExternalRole, Integer> seed(@RequestParam @Min(1) @Max(100_000) int perRole) {
+        return mock.seedSynthetic(perRole);
+    }
+}
@@ -5,15 +5,23 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.annotation.PostConstruct;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.text.Normalizer;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @RestController
 @RequestMapping("/external/members")
@@ -21,6 +29,13 @@ import java.util.concurrent.ConcurrentHashMap;
 public class ExternalMemberMockController {
 
     private final Map<String, ExternalMemberDTO> store = new ConcurrentHashMap<>();
+    private final Map<String, MemberChangeDTO> changes = new ConcurrentHashMap<>();
+    private final AtomicLong versionSeq = new AtomicLong();
+    private final MockFaultInjector faults;
+
+    public ExternalMemberMockController(MockFaultInjector faults) {
+        this.faults = faults;
+    }
 
     public static final String SEED_MANAGER_ID     = "00000000-0000-0000-0000-000000000001";
     public static final String SEED_EMPLOYEE1_ID   = "00000000-0000-0000-0000-000000000002";
@@ -48,12 +63,32 @@ public class ExternalMemberMockController {
 
     public record CreateMemberRequest(@NotBlank String name, @NotBlank String role) {}
     public record ExternalMemberDTO(String id, String name, ExternalRole role) {}
+    public record MemberChangeDTO(String id, String name, ExternalRole role, long version, Instant updatedAt) {}
+    public record BatchGetRequest(@NotNull @Size(max = 100) List<@NotBlank String> ids) {}
 
     @PostConstruct
     void seedMembers() {
-        store.put(SEED_MANAGER_ID, new ExternalMemberDTO(SEED_MANAGER_ID, "Alice Manager", ExternalRole.GERENTE));
-        store.put(SEED_EMPLOYEE1_ID, new ExternalMemberDTO(SEED_EMPLOYEE1_ID, "Bob Employee", ExternalRole.FUNCIONARIO));
-        store.put(SEED_EMPLOYEE2_ID, new ExternalMemberDTO(SEED_EMPLOYEE2_ID, "Carol Employee", ExternalRole.FUNCIONARIO));
+        save(new ExternalMemberDTO(SEED_MANAGER_ID, "Alice Manager", ExternalRole.GERENTE));
+        save(new ExternalMemberDTO(SEED_EMPLOYEE1_ID, "Bob Employee", ExternalRole.FUNCIONARIO));
+        save(new ExternalMemberDTO(SEED_EMPLOYEE2_ID, "Carol Employee", ExternalRole.FUNCIONARIO));
+    }
+
+    // Gera perRole membros sintéticos para cada ExternalRole (usado em testes de carga)
+    public Map<ExternalRole, Integer> seedSynthetic(int perRole) {
+        Map<ExternalRole, Integer> created = new EnumMap<>(ExternalRole.class);
+        for (ExternalRole role : ExternalRole.values()) {
+            for (int i = 1; i <= perRole; i++) {
+                String id = UUID.randomUUID().toString();
+                save(new ExternalMemberDTO(id, "Synthetic " + role + " " + i, role));
+            }
+            created.put(role, perRole);
+        }
+        return created;
+    }
+
+    private void save(ExternalMemberDTO dto) {
+        store.put(dto.id(), dto);
+        changes.put(dto.id(), new MemberChangeDTO(dto.id(), dto.name(), dto.role(), versionSeq.incrementAndGet(), Instant.now()));
     }
 
     @Operation(summary = "Criar um novo usuário externo")
@@ -73,15 +108,42 @@ public class ExternalMemberMockController {
 
         String id = UUID.randomUUID().toString();
         ExternalMemberDTO dto = new ExternalMemberDTO(id, req.name().trim(), role);
-        store.put(id, dto);
+        save(dto);
         return ResponseEntity.status(HttpStatus.CREATED).body(dto);
     }
 
     @Operation(summary = "Exibir usuário externo")
     @GetMapping("/{id}")
     public ResponseEntity<ExternalMemberDTO> get(@PathVariable String id) {
+        var fault = faults.<ExternalMemberDTO>inject();
+        if (fault.isPresent()) return fault.get();
+
         ExternalMemberDTO dto = store.get(id);
         return (dto == null) ? ResponseEntity.status(HttpStatus.NOT_FOUND).build()
                 : ResponseEntity.ok(dto);
     }
+
+    @Operation(summary = "Exibir vários usuários externos em uma única chamada (ids inexistentes são omitidos)")
+    @PostMapping("/batch-get")
+    public ResponseEntity<List<ExternalMemberDTO>> batchGet(@Valid @RequestBody BatchGetRequest req) {
+        var fault = faults.<List<ExternalMemberDTO>>inject();
+        if (fault.isPresent()) return fault.get();
+
+        return ResponseEntity.ok(req.ids().stream()
+                .distinct()
+                .map(store::get)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    @Operation(summary = "Listar usuários externos alterados após uma versão (sincronização incremental)")
+    @GetMapping("/changes")
+    public List<MemberChangeDTO> changes(@RequestParam(defaultValue = "0") long sinceVersion,
+                                         @RequestParam(defaultValue = "500") int limit) {
+        return changes.values().stream()
+                .filter(c -> c.version() > sinceVersion)
+                .sorted(Comparator.comparingLong(MemberChangeDTO::version))
+                .limit(Math.max(1, Math.min(limit, 1000)))
+                .toList();
+    }
 }
\ No newline at end of file
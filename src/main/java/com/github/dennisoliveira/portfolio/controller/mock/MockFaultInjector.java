@@ -0,0 +1,110 @@
+package com.github.dennisoliveira.portfolio.controller.mock;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Component
+public class MockFaultInjector {
+
+    public enum LatencyMode { NONE, FIXED, UNIFORM, LONG_TAIL }
+
+    public record FaultSettings(
+            @NotNull LatencyMode latencyMode,
+            @PositiveOrZero long fixedMs,
+            @PositiveOrZero long minMs,
+            @PositiveOrZero long maxMs,
+            @DecimalMin("0.1") double tailAlpha,
+            @DecimalMin("0.0") @DecimalMax("1.0") double errorRate,
+            @DecimalMin("0.0") @DecimalMax("1.0") double notFoundRate,
+            @DecimalMin("0.0") @DecimalMax("1.0") double timeoutRate,
+            @PositiveOrZero long timeoutMs
+    ) {
+        public static FaultSettings none() {
+            return new FaultSettings(LatencyMode.NONE, 0, 0, 0, 1.5, 0, 0, 0, 0);
+        }
+    }
+
+    private final AtomicReference<FaultSettings> settings;
+
+    @Autowired
+    public MockFaultInjector(
+            @Value("${members.mock.faults.latency-mode:NONE}") LatencyMode latencyMode,
+            @Value("${members.mock.faults.fixed-ms:0}") long fixedMs,
+            @Value("${members.mock.faults.min-ms:0}") long minMs,
+            @Value("${members.mock.faults.max-ms:0}") long maxMs,
+            @Value("${members.mock.faults.tail-alpha:1.5}") double tailAlpha,
+            @Value("${members.mock.faults.error-rate:0}") double errorRate,
+            @Value("${members.mock.faults.not-found-rate:0}") double notFoundRate,
+            @Value("${members.mock.faults.timeout-rate:0}") double timeoutRate,
+            @Value("${members.mock.faults.timeout-ms:10000}") long timeoutMs) {
+        this(new FaultSettings(latencyMode, fixedMs, minMs, maxMs, tailAlpha, errorRate, notFoundRate, timeoutRate, timeoutMs));
+    }
+
+    public MockFaultInjector(FaultSettings initial) {
+        this.settings = new AtomicReference<>(initial);
+    }
+
+    public FaultSettings settings() {
+        return settings.get();
+    }
+
+    public void update(FaultSettings newSettings) {
+        settings.set(newSettings);
+    }
+
+    // Aplica a latência configurada e, conforme as taxas, devolve a resposta de falha a ser usada no lugar da real
+    public <T> Optional<ResponseEntity<T>> inject() {
+        var s = settings.get();
+        var random = ThreadLocalRandom.current();
+
+        sleep(latencyMs(s, random));
+
+        double roll = random.nextDouble();
+        if (roll < s.timeoutRate()) {
+            sleep(s.timeoutMs());
+            return Optional.of(ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).build());
+        }
+        roll -= s.timeoutRate();
+        if (roll < s.errorRate()) {
+            return Optional.of(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+        }
+        roll -= s.errorRate();
+        if (roll < s.notFoundRate()) {
+            return Optional.of(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+        }
+        return Optional.empty();
+    }
+
+    private static long latencyMs(FaultSettings s, ThreadLocalRandom random) {
+        return switch (s.latencyMode()) {
+            case NONE -> 0;
+            case FIXED -> s.fixedMs();
+            case UNIFORM -> s.maxMs() > s.minMs() ? random.nextLong(s.minMs(), s.maxMs() + 1) : s.minMs();
+            // Pareto(minMs, alpha): maioria das chamadas perto de minMs, poucas muito lentas (limitado a maxMs)
+            case LONG_TAIL -> {
+                double pareto = s.minMs() / Math.pow(1.0 - random.nextDouble(), 1.0 / s.tailAlpha());
+                yield s.maxMs() > 0 ? Math.min((long) pareto, s.maxMs()) : (long) pareto;
+            }
+        };
+    }
+
+    private static void sleep(long ms) {
+        if (ms <= 0) return;
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
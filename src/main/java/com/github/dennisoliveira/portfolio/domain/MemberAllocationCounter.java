@@ -0,0 +1,19 @@
+package com.github.dennisoliveira.portfolio.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "member_allocation_counter")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemberAllocationCounter {
+
+    @Id
+    @Column(name = "member_external_id", length = 100)
+    private String memberExternalId;
+
+    @Column(name = "active_count", nullable = false)
+    private int activeCount;
+}
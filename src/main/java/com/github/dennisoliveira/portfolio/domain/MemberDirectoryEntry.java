@@ -0,0 +1,40 @@
+package com.github.dennisoliveira.portfolio.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "member_directory")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MemberDirectoryEntry {
+
+    @Id
+    @Column(name = "member_external_id", length = 100)
+    private String memberExternalId;
+
+    @Column(length = 150, nullable = false)
+    private String name;
+
+    @Column(length = 30, nullable = false)
+    private String role;
+
+    @Column(name = "source_version", nullable = false)
+    private Long sourceVersion;
+
+    @Column(name = "source_updated_at", nullable = false)
+    private LocalDateTime sourceUpdatedAt;
+
+    @Column(name = "synced_at", nullable = false)
+    private LocalDateTime syncedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSync() {
+        this.syncedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,24 @@
+package com.github.dennisoliveira.portfolio.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "portfolio_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioStat {
+
+    @Id
+    @Column(name = "stat_key", length = 60)
+    private String statKey;
+
+    @Column(name = "item_count", nullable = false)
+    private long itemCount;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+}
@@ -1,10 +1,11 @@
 package com.github.dennisoliveira.portfolio.domain;
 
 import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
 
 @Entity
 @Table(name = "project_member")
-public class ProjectMember {
+public class ProjectMember implements Persistable<ProjectMemberId> {
 
     @EmbeddedId
     private ProjectMemberId id;
@@ -18,6 +19,10 @@ public class ProjectMember {
     @Column(name = "member_external_id", nullable = false, length = 100, insertable = false, updatable = false)
     private String memberExternalId;
 
+    // id atribuído pela aplicação: sem isso o save() faria merge (SELECT antes de cada INSERT)
+    @Transient
+    private boolean isNew = true;
+
     protected ProjectMember() {}
 
     public ProjectMember(Project project, String memberExternalId) {
@@ -26,7 +31,16 @@ public class ProjectMember {
         this.memberExternalId = memberExternalId;
     }
 
+    @Override
     public ProjectMemberId getId() { return id; }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() { this.isNew = false; }
+
     public Project getProject() { return project; }
     public String getMemberExternalId() { return memberExternalId; }
 }
\ No newline at end of file
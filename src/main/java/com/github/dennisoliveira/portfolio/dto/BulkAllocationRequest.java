@@ -0,0 +1,20 @@
+package com.github.dennisoliveira.portfolio.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.Map;
+
+@Schema(description = "Members to allocate, grouped by project")
+public record BulkAllocationRequest(
+        @NotEmpty
+        @Size(max = 50, message = "You must provide at most 50 projects per request")
+        @Schema(description = "Project ID → external member IDs (UUIDs) to allocate", example = "{\"1\":[\"00000000-0000-0000-0000-000000000002\"],\"2\":[\"00000000-0000-0000-0000-000000000002\",\"00000000-0000-0000-0000-000000000003\"]}")
+        Map<@NotNull Long,
+            @NotNull @Size(min = 1, max = 10, message = "You must provide between 1 and 10 memberExternalIds per project")
+            List<@NotBlank String>> allocations
+) {}
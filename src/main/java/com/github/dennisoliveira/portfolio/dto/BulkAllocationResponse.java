@@ -0,0 +1,47 @@
+package com.github.dennisoliveira.portfolio.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+public record BulkAllocationResponse(
+        int allocated,
+        int unchanged,
+        int failed,
+        List<ProjectResult> results
+) {
+
+    public enum Outcome { ALLOCATED, UNCHANGED, FAILED }
+
+    public record ProjectResult(
+            Long projectId,
+            Outcome outcome,
+            List<String> added,
+            @JsonInclude(JsonInclude.Include.NON_NULL) String error
+    ) {
+
+        public static ProjectResult allocated(Long projectId, List<String> added) {
+            return new ProjectResult(projectId, Outcome.ALLOCATED, added, null);
+        }
+
+        public static ProjectResult unchanged(Long projectId) {
+            return new ProjectResult(projectId, Outcome.UNCHANGED, List.of(), null);
+        }
+
+        public static ProjectResult failed(Long projectId, String error) {
+            return new ProjectResult(projectId, Outcome.FAILED, List.of(), error);
+        }
+    }
+
+    public static BulkAllocationResponse of(List<ProjectResult> results) {
+        int allocated = 0, unchanged = 0, failed = 0;
+        for (ProjectResult r : results) {
+            switch (r.outcome()) {
+                case ALLOCATED -> allocated++;
+                case UNCHANGED -> unchanged++;
+                case FAILED -> failed++;
+            }
+        }
+        return new BulkAllocationResponse(allocated, unchanged, failed, results);
+    }
+}
@@ -0,0 +1,16 @@
+package com.github.dennisoliveira.portfolio.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPageResponse<T>(
+        List<T> content,
+        int size,
+        String nextCursor,
+        boolean hasNext
+) {
+
+    public <R> CursorPageResponse<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPageResponse<>(content.stream().<R>map(mapper).toList(), size, nextCursor, hasNext);
+    }
+}
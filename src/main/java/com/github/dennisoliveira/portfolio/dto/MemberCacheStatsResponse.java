@@ -0,0 +1,9 @@
+package com.github.dennisoliveira.portfolio.dto;
+
+public record MemberCacheStatsResponse(
+        long size,
+        long hits,
+        long misses,
+        long evictions,
+        double hitRate
+) {}
@@ -0,0 +1,3 @@
+package com.github.dennisoliveira.portfolio.dto;
+
+public enum NameMatch { CONTAINS, FUZZY }
@@ -0,0 +1,39 @@
+package com.github.dennisoliveira.portfolio.dto;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record PageResponse<T>(
+        List<T> content,
+        int page,
+        int size,
+        boolean hasNext,
+        Long totalElements,
+        Integer totalPages,
+        PageTotal totalMode
+) {
+
+    public static <T> PageResponse<T> of(Page<T> page) {
+        return new PageResponse<>(page.getContent(), page.getNumber(), page.getSize(), page.hasNext(),
+                page.getTotalElements(), page.getTotalPages(), PageTotal.EXACT);
+    }
+
+    public static <T> PageResponse<T> of(Slice<T> slice) {
+        return new PageResponse<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(),
+                null, null, PageTotal.NONE);
+    }
+
+    public static <T> PageResponse<T> of(Slice<T> slice, long total, PageTotal mode) {
+        int pages = slice.getSize() == 0 ? 1 : (int) Math.ceil((double) total / slice.getSize());
+        return new PageResponse<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(),
+                total, pages, mode);
+    }
+
+    public <R> PageResponse<R> map(Function<? super T, ? extends R> mapper) {
+        return new PageResponse<>(content.stream().<R>map(mapper).toList(),
+                page, size, hasNext, totalElements, totalPages, totalMode);
+    }
+}
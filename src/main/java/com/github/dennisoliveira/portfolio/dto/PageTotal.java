@@ -0,0 +1,8 @@
+package com.github.dennisoliveira.portfolio.dto;
+
+// Como o total de uma página é obtido: count(*) exato, estimativa do planner ou nenhum (só hasNext)
+public enum PageTotal {
+    EXACT,
+    ESTIMATED,
+    NONE
+}
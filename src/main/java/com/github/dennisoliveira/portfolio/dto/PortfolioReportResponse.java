@@ -1,5 +1,6 @@
 package com.github.dennisoliveira.portfolio.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.github.dennisoliveira.portfolio.domain.ProjectStatus;
 
 import java.math.BigDecimal;
@@ -9,5 +10,13 @@ public record PortfolioReportResponse(
         Map<ProjectStatus, Long> projectsByStatus,
         Map<ProjectStatus, BigDecimal> totalBudgetByStatus,
         Double avgDurationClosedDays,
-        Long uniqueMembersAllocated
-) {}
+        Long uniqueMembersAllocated,
+        // Só no modo APPROXIMATE (sketches); no EXACT ficam fora da resposta
+        @JsonInclude(JsonInclude.Include.NON_NULL) Long uniqueMembersAllocatedActive,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Map<ProjectStatus, Long> uniqueMembersByStatus,
+        CountMode uniqueMembersMode,
+        Double uniqueMembersErrorBound
+) {
+
+    public enum CountMode { EXACT, APPROXIMATE }
+}
@@ -0,0 +1,36 @@
+package com.github.dennisoliveira.portfolio.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public record PortfolioTimeseriesResponse(
+        Granularity granularity,
+        DateField dateField,
+        List<Bucket> buckets
+) {
+
+    public enum Granularity { MONTH, QUARTER }
+
+    public enum DateField {
+        START_DATE("start_date"),
+        EXPECTED_END_DATE("expected_end_date");
+
+        private final String column;
+
+        DateField(String column) { this.column = column; }
+
+        public String column() { return column; }
+    }
+
+    public enum Dimension { STATUS, RISK, MANAGER }
+
+    public record Bucket(
+            LocalDate bucket,
+            Dimension dimension,
+            String key,
+            long projects,
+            BigDecimal totalBudget,
+            long cumulativeProjects
+    ) {}
+}
@@ -0,0 +1,50 @@
+package com.github.dennisoliveira.portfolio.dto;
+
+import java.lang.reflect.RecordComponent;
+import java.util.*;
+
+// Sparse fieldsets (?fields=id,name,status) sobre ProjectResponse
+public final class ProjectFields {
+
+    private static final RecordComponent[] COMPONENTS = ProjectResponse.class.getRecordComponents();
+    private static final Set<String> ALLOWED = new LinkedHashSet<>();
+
+    static {
+        for (RecordComponent c : COMPONENTS) ALLOWED.add(c.getName());
+    }
+
+    private ProjectFields() {}
+
+    // null = todos os campos
+    public static Set<String> parse(String fields) {
+        if (fields == null || fields.isBlank()) return null;
+
+        Set<String> selected = new LinkedHashSet<>();
+        for (String f : fields.split(",")) {
+            String name = f.trim();
+            if (name.isEmpty()) continue;
+            if (!ALLOWED.contains(name)) {
+                throw new IllegalArgumentException("Unknown field '%s'. Allowed: %s".formatted(name, ALLOWED));
+            }
+            selected.add(name);
+        }
+        return selected.isEmpty() ? null : selected;
+    }
+
+    public static boolean includes(Set<String> selected, String field) {
+        return selected == null || selected.contains(field);
+    }
+
+    public static Map<String, Object> select(ProjectResponse response, Set<String> selected) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        for (RecordComponent c : COMPONENTS) {
+            if (!selected.contains(c.getName())) continue;
+            try {
+                out.put(c.getName(), c.getAccessor().invoke(response));
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return out;
+    }
+}
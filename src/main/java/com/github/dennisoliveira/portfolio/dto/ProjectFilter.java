@@ -8,7 +8,7 @@ import java.time.LocalDate;
 public record ProjectFilter(
         String name,
         ProjectStatus status,
-        Long managerId,
+        String managerExternalId,
 
         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
         LocalDate startDateFrom,
@@ -21,4 +21,4 @@ public record ProjectFilter(
 
         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
         LocalDate expectedEndTo
-) {}
\ No newline at end of file
+) {}
@@ -0,0 +1,26 @@
+package com.github.dennisoliveira.portfolio.dto;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+// Dados relacionados embutidos na resposta de projetos (?include=members)
+public enum ProjectInclude {
+    MEMBERS;
+
+    public static Set<ProjectInclude> parse(String include) {
+        Set<ProjectInclude> selected = EnumSet.noneOf(ProjectInclude.class);
+        if (include == null || include.isBlank()) return selected;
+
+        for (String i : include.split(",")) {
+            String name = i.trim();
+            if (name.isEmpty()) continue;
+            selected.add(Arrays.stream(values())
+                    .filter(v -> v.name().equalsIgnoreCase(name))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown include '%s'. Allowed: %s"
+                            .formatted(name, Arrays.stream(values()).map(v -> v.name().toLowerCase()).toList()))));
+        }
+        return selected;
+    }
+}
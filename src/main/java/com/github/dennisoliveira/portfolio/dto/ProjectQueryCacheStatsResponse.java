@@ -0,0 +1,11 @@
+package com.github.dennisoliveira.portfolio.dto;
+
+public record ProjectQueryCacheStatsResponse(
+        long shapes,
+        long hits,
+        long misses,
+        double hitRate,
+        boolean hibernateStatisticsEnabled,
+        long hibernatePlanCacheHits,
+        long hibernatePlanCacheMisses
+) {}
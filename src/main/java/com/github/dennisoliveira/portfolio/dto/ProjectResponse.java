@@ -1,8 +1,10 @@
 package com.github.dennisoliveira.portfolio.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.github.dennisoliveira.portfolio.domain.ProjectStatus;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 
 public record ProjectResponse(
         Long id,
@@ -14,5 +16,14 @@ public record ProjectResponse(
         String description,
         String managerExternalId,
         ProjectStatus status,
-        String risk
-) {}
\ No newline at end of file
+        String risk,
+        // só preenchido com ?include=members
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        List<String> members
+) {
+
+    public ProjectResponse withMembers(List<String> members) {
+        return new ProjectResponse(id, name, startDate, expectedEndDate, actualEndDate, totalBudget,
+                description, managerExternalId, status, risk, members);
+    }
+}
@@ -0,0 +1,20 @@
+package com.github.dennisoliveira.portfolio.dto;
+
+import com.github.dennisoliveira.portfolio.domain.ProjectStatus;
+import com.github.dennisoliveira.portfolio.domain.Risk;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Projeção de listagem: todas as colunas de project exceto description (TEXT)
+public record ProjectSummary(
+        Long id,
+        String name,
+        LocalDate startDate,
+        LocalDate expectedEndDate,
+        LocalDate actualEndDate,
+        BigDecimal totalBudget,
+        String managerExternalId,
+        ProjectStatus status,
+        Risk risk
+) {}
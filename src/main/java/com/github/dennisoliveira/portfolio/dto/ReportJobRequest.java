@@ -0,0 +1,32 @@
+package com.github.dennisoliveira.portfolio.dto;
+
+import com.github.dennisoliveira.portfolio.dto.PortfolioTimeseriesResponse.DateField;
+import com.github.dennisoliveira.portfolio.dto.PortfolioTimeseriesResponse.Granularity;
+
+import java.time.LocalDate;
+
+public record ReportJobRequest(
+        Type type,
+        Granularity granularity,
+        DateField dateField,
+        LocalDate from,
+        LocalDate to
+) {
+
+    public enum Type { SNAPSHOT, TIMESERIES }
+
+    public static ReportJobRequest snapshot() {
+        return new ReportJobRequest(Type.SNAPSHOT, null, null, null, null);
+    }
+
+    // Forma canônica: requisições equivalentes geram a mesma chave e compartilham o mesmo job
+    public ReportJobRequest normalized() {
+        if (type == null || type == Type.SNAPSHOT) {
+            return snapshot();
+        }
+        return new ReportJobRequest(Type.TIMESERIES,
+                granularity != null ? granularity : Granularity.MONTH,
+                dateField != null ? dateField : DateField.START_DATE,
+                from, to);
+    }
+}
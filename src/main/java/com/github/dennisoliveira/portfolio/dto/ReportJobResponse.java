@@ -0,0 +1,17 @@
+package com.github.dennisoliveira.portfolio.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record ReportJobResponse(
+        UUID id,
+        Status status,
+        ReportJobRequest request,
+        Instant submittedAt,
+        Instant finishedAt,
+        Object result,
+        String error
+) {
+
+    public enum Status { PENDING, RUNNING, DONE, FAILED }
+}
@@ -0,0 +1,7 @@
+package com.github.dennisoliveira.portfolio.event;
+
+import com.github.dennisoliveira.portfolio.domain.ProjectStatus;
+
+import java.util.List;
+
+public record MembersAllocatedEvent(Long projectId, ProjectStatus projectStatus, List<String> memberExternalIds) {}
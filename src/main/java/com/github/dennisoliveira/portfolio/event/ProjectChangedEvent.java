@@ -0,0 +1,6 @@
+package com.github.dennisoliveira.portfolio.event;
+
+public record ProjectChangedEvent(Long projectId, Type type) {
+
+    public enum Type { CREATED, UPDATED, DELETED, STATUS_CHANGED, MEMBERS_CHANGED }
+}
@@ -1,5 +1,6 @@
 package com.github.dennisoliveira.portfolio.exception;
 
+import com.github.dennisoliveira.portfolio.integration.members.ExternalServiceException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
@@ -30,6 +31,7 @@ public class GlobalExceptionHandler {
     private static final String TYPE_BUSINESS   = "urn:problem:business-rule";
     private static final String TYPE_NOT_FOUND  = "urn:problem:not-found";
     private static final String TYPE_FORBIDDEN  = "urn:problem:forbidden";
+    private static final String TYPE_EXTERNAL   = "urn:problem:external-service";
     private static final String TYPE_GENERIC    = "urn:problem:unexpected";
 
     // 404 — domínio
@@ -60,6 +62,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.unprocessableEntity().body(pd);
     }
 
+    // 503 — dependência externa (Members API) indisponível
+    @ExceptionHandler(ExternalServiceException.class)
+    public ResponseEntity<ProblemDetail> handleExternalService(ExternalServiceException ex, HttpServletRequest req) {
+        log.warn("{} on {} {} (traceId={}): {}",
+                ex.getClass().getSimpleName(), req.getMethod(), req.getRequestURI(), traceId(req), ex.getMessage());
+
+        var pd = ProblemDetail.forStatus(HttpStatus.SERVICE_UNAVAILABLE);
+        pd.setType(URI.create(TYPE_EXTERNAL));
+        pd.setTitle("External service unavailable");
+        pd.setDetail(nonNull(ex.getMessage(), "External service unavailable"));
+        addCommon(pd, req);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(pd);
+    }
+
     // 400 — Bean Validation no body (@Valid)
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ProblemDetail> handleValidation(MethodArgumentNotValidException ex, HttpServletRequest req) {
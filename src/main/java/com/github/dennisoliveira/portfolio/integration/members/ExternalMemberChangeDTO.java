@@ -0,0 +1,11 @@
+package com.github.dennisoliveira.portfolio.integration.members;
+
+import java.time.Instant;
+
+public record ExternalMemberChangeDTO(
+        String id,
+        String name,
+        String role,
+        long version,
+        Instant updatedAt
+) {}
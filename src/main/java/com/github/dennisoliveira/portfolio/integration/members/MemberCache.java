@@ -0,0 +1,112 @@
+package com.github.dennisoliveira.portfolio.integration.members;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+@Component
+public class MemberCache {
+
+    // Assíncrono: a entrada é o próprio future da consulta, então chamadas concorrentes para o mesmo id
+    // (get ou getAll) aguardam a mesma requisição em andamento em vez de disparar outra
+    private final AsyncCache<String, Optional<ExternalMemberDTO>> cache;
+    // Último registro conhecido de cada membro, servido quando a Members API está indisponível
+    private final Cache<String, ExternalMemberDTO> lastKnown;
+
+    public MemberCache(@Value("${members.cache.max-size:10000}") long maxSize,
+                       @Value("${members.cache.ttl:10m}") Duration ttl,
+                       @Value("${members.cache.negative-ttl:30s}") Duration negativeTtl,
+                       @Value("${members.cache.stale-max-size:50000}") long staleMaxSize,
+                       @Value("${members.cache.stale-ttl:24h}") Duration staleTtl,
+                       MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TtlByResult(ttl, negativeTtl))
+                .recordStats()
+                .buildAsync();
+        this.lastKnown = Caffeine.newBuilder()
+                .maximumSize(staleMaxSize)
+                .expireAfterWrite(staleTtl)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "members");
+    }
+
+    public CompletableFuture<Optional<ExternalMemberDTO>> get(
+            String id, Function<String, CompletableFuture<Optional<ExternalMemberDTO>>> loader) {
+        return cache.get(id, (key, executor) -> loader.apply(key));
+    }
+
+    public CompletableFuture<Map<String, Optional<ExternalMemberDTO>>> getAll(
+            Set<String> ids,
+            Function<Set<? extends String>, CompletableFuture<Map<String, Optional<ExternalMemberDTO>>>> loader) {
+        return cache.getAll(ids, (keys, executor) -> loader.apply(keys));
+    }
+
+    // Há uma consulta ainda em andamento para o id (entrada presente e future não concluído)
+    public boolean isLoading(String id) {
+        var future = cache.getIfPresent(id);
+        return future != null && !future.isDone();
+    }
+
+    public void put(ExternalMemberDTO member) {
+        cache.put(member.id(), CompletableFuture.completedFuture(Optional.of(member)));
+        remember(member);
+    }
+
+    public void remember(ExternalMemberDTO member) {
+        lastKnown.put(member.id(), member);
+    }
+
+    public Optional<ExternalMemberDTO> lastKnown(String id) {
+        return Optional.ofNullable(lastKnown.getIfPresent(id));
+    }
+
+    public void invalidate(String id) {
+        cache.synchronous().invalidate(id);
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    // 404 ("não encontrado") expira mais cedo que um membro resolvido
+    private record TtlByResult(Duration ttl, Duration negativeTtl)
+            implements Expiry<String, Optional<ExternalMemberDTO>> {
+
+        @Override
+        public long expireAfterCreate(String key, Optional<ExternalMemberDTO> value, long currentTime) {
+            return (value.isPresent() ? ttl : negativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Optional<ExternalMemberDTO> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Optional<ExternalMemberDTO> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,24 +1,174 @@
 package com.github.dennisoliveira.portfolio.integration.members;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
-import java.util.Map;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+@Slf4j
 @Service
 public class MemberClient {
 
+    private static final ParameterizedTypeReference<List<ExternalMemberDTO>> MEMBER_LIST =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<List<ExternalMemberChangeDTO>> CHANGE_LIST =
+            new ParameterizedTypeReference<>() {};
+
+    // Limite de ids por requisição de POST /members/batch-get na Members API
+    static final int BATCH_MAX_IDS = 100;
+
     private final WebClient client;
+    private final MemberCache cache;
+    private final MemberDirectory directory;
+    private final MemberLookupMode lookupMode;
+    private final int lookupConcurrency;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Counter coalescedCalls;
+    private final Counter rejectedByCircuitBreaker;
+    private final Counter rejectedByBulkhead;
+    private final Counter staleServed;
 
-    public MemberClient(WebClient membersWebClient) {
+    public MemberClient(WebClient membersWebClient,
+                        MemberCache memberCache,
+                        MemberDirectory memberDirectory,
+                        @Value("${members.api.lookup-mode:BATCH}") MemberLookupMode lookupMode,
+                        @Value("${members.api.lookup-concurrency:8}") int lookupConcurrency,
+                        CircuitBreaker membersCircuitBreaker,
+                        Bulkhead membersBulkhead,
+                        MeterRegistry meterRegistry) {
         this.client = membersWebClient;
+        this.cache = memberCache;
+        this.directory = memberDirectory;
+        this.lookupMode = lookupMode;
+        this.lookupConcurrency = lookupConcurrency;
+        this.circuitBreaker = membersCircuitBreaker;
+        this.bulkhead = membersBulkhead;
+        this.coalescedCalls = Counter.builder("members.client.coalesced")
+                .description("Member lookups that joined an in-flight call for the same id")
+                .register(meterRegistry);
+        this.rejectedByCircuitBreaker = Counter.builder("members.client.rejected")
+                .tag("reason", "circuit_open")
+                .register(meterRegistry);
+        this.rejectedByBulkhead = Counter.builder("members.client.rejected")
+                .tag("reason", "bulkhead_full")
+                .register(meterRegistry);
+        this.staleServed = Counter.builder("members.client.stale.served")
+                .description("Member records served from the last known copy while the Members API was unavailable")
+                .register(meterRegistry);
     }
 
+    // Réplica local primeiro; a Members API só é consultada quando o membro ainda não foi replicado
     public Optional<ExternalMemberDTO> getById(String id) {
+        var local = directory.find(id);
+        if (local.isPresent()) {
+            return local;
+        }
+        try {
+            boolean[] started = {false};
+            var future = cache.get(id, key -> {
+                started[0] = true;
+                return lookup(key).toFuture();
+            });
+            if (!started[0] && !future.isDone()) {
+                coalescedCalls.increment();
+            }
+            return await(future);
+        } catch (RuntimeException e) {
+            if (!isRejection(e)) throw e;
+            Throwable cause = recordRejection(e);
+            return Optional.of(staleOrFail(id, cause));
+        }
+    }
+
+    // Resolve todos os ids de uma vez; ids ausentes no resultado não existem na Members API
+    public Map<String, ExternalMemberDTO> getByIds(Collection<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, ExternalMemberDTO> found = new LinkedHashMap<>(directory.findAll(ids));
+        Set<String> missing = new LinkedHashSet<>(ids);
+        missing.removeAll(found.keySet());
+        if (missing.isEmpty()) {
+            return found;
+        }
+
+        try {
+            Set<String> started = new HashSet<>();
+            var future = cache.getAll(missing, keys -> {
+                started.addAll(keys);
+                return fetchByIds(keys);
+            });
+            long joined = missing.stream().filter(id -> !started.contains(id) && cache.isLoading(id)).count();
+            if (joined > 0) {
+                coalescedCalls.increment(joined);
+            }
+            await(future).forEach((id, maybe) -> maybe.ifPresent(m -> found.put(id, m)));
+        } catch (RuntimeException e) {
+            if (!isRejection(e)) throw e;
+            Throwable cause = recordRejection(e);
+            missing.forEach(id -> found.put(id, staleOrFail(id, cause)));
+        }
+        return found;
+    }
+
+    public List<ExternalMemberChangeDTO> listChanges(long sinceVersion, int limit) {
+        List<ExternalMemberChangeDTO> changes = client.get()
+                .uri(uri -> uri.path("/members/changes")
+                        .queryParam("sinceVersion", sinceVersion)
+                        .queryParam("limit", limit)
+                        .build())
+                .retrieve()
+                .bodyToMono(CHANGE_LIST)
+                .timeout(Duration.ofSeconds(5))
+                .block();
+        return changes != null ? changes : List.of();
+    }
+
+    public ExternalMemberDTO create(String name, String role) {
+        ExternalMemberDTO created = client.post()
+                .uri("/members")
+                .bodyValue(Map.of("name", name, "role", role))
+                .retrieve()
+                .bodyToMono(ExternalMemberDTO.class)
+                .timeout(Duration.ofSeconds(5))
+                .block();
+        if (created != null) {
+            cache.put(created);
+        }
+        return created;
+    }
+
+    // Single-flight fica a cargo do MemberCache assíncrono; aqui só se desembrulha a falha original da consulta
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private Mono<Optional<ExternalMemberDTO>> lookup(String id) {
         return client.get()
                 .uri("/members/{id}", id)
                 .exchangeToMono(resp -> {
@@ -40,16 +190,100 @@ public class MemberClient {
                 .onErrorResume(WebClientResponseException.class, e ->
 
                         Mono.just(Optional.empty()))
-                .block();
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .doOnNext(maybe -> maybe.ifPresent(cache::remember));
     }
 
-    public ExternalMemberDTO create(String name, String role) {
+    private CompletableFuture<Map<String, Optional<ExternalMemberDTO>>> fetchByIds(Set<? extends String> ids) {
+        Mono<Map<String, Optional<ExternalMemberDTO>>> fetch = switch (lookupMode) {
+            case BATCH -> batchLookup(ids);
+            case PARALLEL -> parallelLookup(ids);
+        };
+        return fetch.toFuture();
+    }
+
+    private Mono<Map<String, Optional<ExternalMemberDTO>>> parallelLookup(Set<? extends String> ids) {
+        return Flux.fromIterable(List.copyOf(ids))
+                .flatMap(id -> lookup(id).map(maybe -> Map.entry(id, maybe)), lookupConcurrency)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    // /members/batch-get aceita no máximo BATCH_MAX_IDS ids por requisição; acima disso, vários lotes concorrentes
+    private Mono<Map<String, Optional<ExternalMemberDTO>>> batchLookup(Set<? extends String> ids) {
+        List<List<String>> chunks = new ArrayList<>();
+        List<String> chunk = new ArrayList<>(BATCH_MAX_IDS);
+        for (String id : ids) {
+            chunk.add(id);
+            if (chunk.size() == BATCH_MAX_IDS) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>(BATCH_MAX_IDS);
+            }
+        }
+        if (!chunk.isEmpty()) chunks.add(chunk);
+
+        return Flux.fromIterable(chunks)
+                .flatMap(this::batchRequest, lookupConcurrency)
+                .flatMapIterable(list -> list)
+                .collectList()
+                .map(members -> {
+                    Map<String, Optional<ExternalMemberDTO>> result = new HashMap<>();
+                    ids.forEach(id -> result.put(id, Optional.empty()));
+                    members.forEach(m -> {
+                        cache.remember(m);
+                        result.put(m.id(), Optional.of(m));
+                    });
+                    return result;
+                });
+    }
+
+    private Mono<List<ExternalMemberDTO>> batchRequest(List<String> ids) {
         return client.post()
-                .uri("/members")
-                .bodyValue(Map.of("name", name, "role", role))
+                .uri("/members/batch-get")
+                .bodyValue(Map.of("ids", ids))
                 .retrieve()
-                .bodyToMono(ExternalMemberDTO.class)
+                .onStatus(status -> status.isError(), resp -> resp.bodyToMono(String.class)
+                        .defaultIfEmpty("")
+                        .map(body -> new ExternalServiceException(
+                                "Members API error: " + resp.statusCode() + " " + body)))
+                .bodyToMono(MEMBER_LIST)
                 .timeout(Duration.ofSeconds(5))
-                .block();
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .defaultIfEmpty(List.of());
+    }
+
+    // Circuito aberto ou bulkhead cheio: serve o último registro conhecido (stale) sem cachear o fallback
+    private ExternalMemberDTO staleOrFail(String id, Throwable cause) {
+        var stale = cache.lastKnown(id);
+        if (stale.isEmpty()) {
+            throw new ExternalServiceException("Members API unavailable and no known record for id=" + id, cause);
+        }
+        log.debug("Serving last known member record for id={} ({})", id, cause.getClass().getSimpleName());
+        staleServed.increment();
+        return stale.get();
+    }
+
+    private Throwable recordRejection(RuntimeException rejection) {
+        Throwable cause = unwrap(rejection);
+        if (cause instanceof CallNotPermittedException) {
+            rejectedByCircuitBreaker.increment();
+        } else {
+            rejectedByBulkhead.increment();
+        }
+        return cause;
+    }
+
+    private static boolean isRejection(RuntimeException e) {
+        Throwable cause = unwrap(e);
+        return cause instanceof CallNotPermittedException || cause instanceof BulkheadFullException;
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        Throwable t = Exceptions.unwrap(e);
+        while (t instanceof CompletionException && t.getCause() != null) {
+            t = t.getCause();
+        }
+        return t;
     }
 }
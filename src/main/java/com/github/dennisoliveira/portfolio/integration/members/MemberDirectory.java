@@ -0,0 +1,68 @@
+package com.github.dennisoliveira.portfolio.integration.members;
+
+import com.github.dennisoliveira.portfolio.domain.MemberDirectoryEntry;
+import com.github.dennisoliveira.portfolio.repository.MemberDirectoryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+public class MemberDirectory {
+
+    private final MemberDirectoryRepository repo;
+    private final boolean enabled;
+
+    public MemberDirectory(MemberDirectoryRepository repo,
+                           @Value("${members.directory.enabled:true}") boolean enabled) {
+        this.repo = repo;
+        this.enabled = enabled;
+    }
+
+    public Optional<ExternalMemberDTO> find(String id) {
+        if (!enabled) return Optional.empty();
+        return repo.findById(id).map(MemberDirectory::toDto);
+    }
+
+    public Map<String, ExternalMemberDTO> findAll(Collection<String> ids) {
+        if (!enabled || ids.isEmpty()) return Map.of();
+        return repo.findAllById(ids).stream()
+                .collect(Collectors.toMap(MemberDirectoryEntry::getMemberExternalId, MemberDirectory::toDto));
+    }
+
+    public long lastVersion() {
+        return repo.findLastSourceVersion();
+    }
+
+    @Transactional
+    public int apply(List<ExternalMemberChangeDTO> changes) {
+        Map<String, MemberDirectoryEntry> existing = repo.findAllById(
+                        changes.stream().map(ExternalMemberChangeDTO::id).toList()).stream()
+                .collect(Collectors.toMap(MemberDirectoryEntry::getMemberExternalId, Function.identity()));
+
+        List<MemberDirectoryEntry> toSave = new ArrayList<>();
+        for (var change : changes) {
+            var entry = existing.computeIfAbsent(change.id(),
+                    id -> MemberDirectoryEntry.builder().memberExternalId(id).build());
+            if (entry.getSourceVersion() != null && entry.getSourceVersion() >= change.version()) {
+                continue;
+            }
+            entry.setName(change.name());
+            entry.setRole(change.role());
+            entry.setSourceVersion(change.version());
+            entry.setSourceUpdatedAt(LocalDateTime.ofInstant(change.updatedAt(), ZoneOffset.UTC));
+            toSave.add(entry);
+        }
+        repo.saveAll(toSave);
+        return toSave.size();
+    }
+
+    private static ExternalMemberDTO toDto(MemberDirectoryEntry e) {
+        return new ExternalMemberDTO(e.getMemberExternalId(), e.getName(), e.getRole());
+    }
+}
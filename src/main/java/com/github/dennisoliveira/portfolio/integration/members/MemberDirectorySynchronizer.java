@@ -0,0 +1,55 @@
+package com.github.dennisoliveira.portfolio.integration.members;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class MemberDirectorySynchronizer {
+
+    private final MemberClient memberClient;
+    private final MemberDirectory directory;
+    private final boolean enabled;
+    private final int pageSize;
+
+    public MemberDirectorySynchronizer(MemberClient memberClient,
+                                       MemberDirectory directory,
+                                       @Value("${members.directory.sync.enabled:true}") boolean enabled,
+                                       @Value("${members.directory.sync.page-size:500}") int pageSize) {
+        this.memberClient = memberClient;
+        this.directory = directory;
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+    }
+
+    @Scheduled(initialDelayString = "${members.directory.sync.initial-delay:10s}",
+               fixedDelayString = "${members.directory.sync.interval:60s}")
+    public void scheduledSync() {
+        if (!enabled) return;
+        try {
+            int applied = sync();
+            if (applied > 0) {
+                log.info("Member directory sync applied {} change(s)", applied);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Member directory sync failed: {}", e.getMessage());
+        }
+    }
+
+    // Incremental: busca apenas as alterações com versão maior que a última replicada
+    public int sync() {
+        long since = directory.lastVersion();
+        int applied = 0;
+        while (true) {
+            var changes = memberClient.listChanges(since, pageSize);
+            if (changes.isEmpty()) break;
+
+            applied += directory.apply(changes);
+            since = changes.get(changes.size() - 1).version();
+            if (changes.size() < pageSize) break;
+        }
+        return applied;
+    }
+}
@@ -0,0 +1,8 @@
+package com.github.dennisoliveira.portfolio.integration.members;
+
+public enum MemberLookupMode {
+    // POST /members/batch-get: uma única chamada para todos os ids
+    BATCH,
+    // GET /members/{id} concorrentes, bloqueando apenas uma vez no resultado combinado
+    PARALLEL
+}
@@ -3,6 +3,7 @@ package com.github.dennisoliveira.portfolio.mapper;
 import com.github.dennisoliveira.portfolio.domain.Project;
 import com.github.dennisoliveira.portfolio.dto.ProjectCreateRequest;
 import com.github.dennisoliveira.portfolio.dto.ProjectResponse;
+import com.github.dennisoliveira.portfolio.dto.ProjectSummary;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -18,7 +19,14 @@ public interface ProjectMapper {
     @Mapping(target = "updatedAt", ignore = true)
     Project toEntity(ProjectCreateRequest request);
 
+    @Mapping(target = "members", ignore = true)
+    @Mapping(target = "withMembers", ignore = true)
     ProjectResponse toResponse(Project p);
 
+    @Mapping(target = "description", ignore = true)
+    @Mapping(target = "members", ignore = true)
+    @Mapping(target = "withMembers", ignore = true)
+    ProjectResponse toResponse(ProjectSummary s);
+
     List<ProjectResponse> toResponseList(List<Project> projects);
 }
@@ -0,0 +1,86 @@
+package com.github.dennisoliveira.portfolio.repository;
+
+import com.github.dennisoliveira.portfolio.domain.MemberAllocationCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface MemberAllocationCounterRepository extends JpaRepository<MemberAllocationCounter, String> {
+
+    @Modifying
+    @Query(value = """
+        insert into member_allocation_counter (member_external_id, active_count)
+        values (:memberId, 0)
+        on conflict do nothing
+    """, nativeQuery = true)
+    int insertIfAbsent(@Param("memberId") String memberId);
+
+    // 0 linhas atualizadas = membro já está no limite; a checagem e o incremento são um único UPDATE atômico
+    @Modifying
+    @Query(value = """
+        update member_allocation_counter
+        set active_count = active_count + 1
+        where member_external_id = :memberId and active_count < :limit
+    """, nativeQuery = true)
+    int incrementIfBelow(@Param("memberId") String memberId, @Param("limit") int limit);
+
+    @Query(value = """
+        select member_external_id from member_allocation_counter
+        where member_external_id in (:memberIds)
+        order by member_external_id
+        for update
+    """, nativeQuery = true)
+    List<String> lockAll(@Param("memberIds") Collection<String> memberIds);
+
+    @Modifying
+    @Query(value = """
+        update member_allocation_counter
+        set active_count = active_count - 1
+        where member_external_id = :memberId and active_count > 0
+    """, nativeQuery = true)
+    int decrement(@Param("memberId") String memberId);
+
+    @Modifying
+    @Query(value = """
+        insert into member_allocation_counter (member_external_id, active_count)
+        select distinct pm.member_external_id, 0
+        from project_member pm
+        where not exists (
+          select 1 from member_allocation_counter c where c.member_external_id = pm.member_external_id
+        )
+        on conflict do nothing
+    """, nativeQuery = true)
+    int insertMissing();
+
+    @Query(value = "select member_external_id from member_allocation_counter order by member_external_id for update",
+           nativeQuery = true)
+    List<String> lockEvery();
+
+    // Recalcula a partir de project_member/project; devolve quantos contadores estavam errados
+    @Modifying
+    @Query(value = """
+        update member_allocation_counter c
+        set active_count = (
+          select count(*) from project_member pm
+          join project p on p.id = pm.project_id
+          where pm.member_external_id = c.member_external_id
+            and p.status not in ('ENCERRADO', 'CANCELADO')
+        )
+        where c.active_count <> (
+          select count(*) from project_member pm
+          join project p on p.id = pm.project_id
+          where pm.member_external_id = c.member_external_id
+            and p.status not in ('ENCERRADO', 'CANCELADO')
+        )
+    """, nativeQuery = true)
+    int recomputeAll();
+
+    // Escalar (não gerenciado), como em PortfolioStatsRepository.findAllRaw
+    @Query(value = "select active_count from member_allocation_counter where member_external_id = :memberId",
+           nativeQuery = true)
+    Integer findActiveCount(@Param("memberId") String memberId);
+}
@@ -0,0 +1,11 @@
+package com.github.dennisoliveira.portfolio.repository;
+
+import com.github.dennisoliveira.portfolio.domain.MemberDirectoryEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface MemberDirectoryRepository extends JpaRepository<MemberDirectoryEntry, String> {
+
+    @Query("select coalesce(max(m.sourceVersion), 0) from MemberDirectoryEntry m")
+    long findLastSourceVersion();
+}
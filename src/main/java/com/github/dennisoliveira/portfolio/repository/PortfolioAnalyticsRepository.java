@@ -0,0 +1,102 @@
+package com.github.dennisoliveira.portfolio.repository;
+
+import com.github.dennisoliveira.portfolio.config.DatabasePlatform;
+import com.github.dennisoliveira.portfolio.domain.ProjectStatus;
+import com.github.dennisoliveira.portfolio.dto.PortfolioTimeseriesResponse.Bucket;
+import com.github.dennisoliveira.portfolio.dto.PortfolioTimeseriesResponse.DateField;
+import com.github.dennisoliveira.portfolio.dto.PortfolioTimeseriesResponse.Dimension;
+import com.github.dennisoliveira.portfolio.dto.PortfolioTimeseriesResponse.Granularity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+@Repository
+@RequiredArgsConstructor
+public class PortfolioAnalyticsRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final DatabasePlatform platform;
+
+    // Uma única consulta: contagem e orçamento por status, risco e gerente em cada bucket, com acumulado por chave
+    public List<Bucket> timeseries(Granularity granularity, DateField dateField,
+                                   @Nullable LocalDate from, @Nullable LocalDate to) {
+        String column = "p." + dateField.column();
+        String bucket = "cast(date_trunc('" + granularity.name().toLowerCase() + "', " + column + ") as date)";
+
+        var params = new MapSqlParameterSource();
+        List<String> conditions = new ArrayList<>();
+        if (from != null) {
+            conditions.add(column + " >= :from");
+            params.addValue("from", from);
+        }
+        if (to != null) {
+            conditions.add(column + " <= :to");
+            params.addValue("to", to);
+        }
+        String where = conditions.isEmpty() ? "" : "where " + String.join(" and ", conditions);
+
+        String grouped = platform.isPostgres() ? groupingSets(bucket, where) : unionAll(bucket, where);
+        String sql = """
+            select t.bucket, t.dimension, t.dim_key, t.projects, t.total_budget,
+                   sum(t.projects) over (partition by t.dimension, t.dim_key order by t.bucket) as cumulative_projects
+            from (%s) t
+            order by t.bucket, t.dimension, t.dim_key
+        """.formatted(grouped);
+
+        return jdbc.query(sql, params, (rs, i) -> new Bucket(
+                rs.getObject("bucket", LocalDate.class),
+                Dimension.valueOf(rs.getString("dimension")),
+                rs.getString("dim_key"),
+                rs.getLong("projects"),
+                rs.getBigDecimal("total_budget"),
+                rs.getLong("cumulative_projects")));
+    }
+
+    // Percorre as alocações em streaming (sem materializar a tabela em memória)
+    public void forEachAllocation(BiConsumer<String, ProjectStatus> consumer) {
+        jdbc.getJdbcTemplate().query("""
+            select pm.member_external_id, p.status
+            from project_member pm
+            join project p on p.id = pm.project_id
+        """, rs -> {
+            consumer.accept(rs.getString(1), ProjectStatus.valueOf(rs.getString(2)));
+        });
+    }
+
+    private static String groupingSets(String bucket, String where) {
+        return """
+            select %1$s as bucket,
+                   case when grouping(p.status) = 0 then 'STATUS'
+                        when grouping(p.risk) = 0 then 'RISK'
+                        else 'MANAGER' end as dimension,
+                   coalesce(p.status, p.risk, p.manager_external_id) as dim_key,
+                   count(*) as projects,
+                   sum(p.total_budget) as total_budget
+            from project p
+            %2$s
+            group by grouping sets ((%1$s, p.status), (%1$s, p.risk), (%1$s, p.manager_external_id))
+        """.formatted(bucket, where);
+    }
+
+    // H2 não suporta GROUPING SETS: mesmo resultado com UNION ALL, ainda em uma ida ao banco
+    private static String unionAll(String bucket, String where) {
+        String part = """
+            select %1$s as bucket, '%3$s' as dimension, %4$s as dim_key,
+                   count(*) as projects, sum(p.total_budget) as total_budget
+            from project p
+            %2$s
+            group by %1$s, %4$s
+        """;
+        return String.join(" union all ",
+                part.formatted(bucket, where, Dimension.STATUS, "p.status"),
+                part.formatted(bucket, where, Dimension.RISK, "p.risk"),
+                part.formatted(bucket, where, Dimension.MANAGER, "p.manager_external_id"));
+    }
+}
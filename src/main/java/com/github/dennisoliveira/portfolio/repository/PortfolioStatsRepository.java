@@ -0,0 +1,66 @@
+package com.github.dennisoliveira.portfolio.repository;
+
+import com.github.dennisoliveira.portfolio.domain.PortfolioStat;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface PortfolioStatsRepository extends JpaRepository<PortfolioStat, String> {
+
+    @Modifying
+    @Query("""
+      update PortfolioStat s
+      set s.itemCount = s.itemCount + :count, s.amount = s.amount + :amount
+      where s.statKey = :key
+    """)
+    int increment(@Param("key") String key, @Param("count") long count, @Param("amount") BigDecimal amount);
+
+    // Escalar (não gerenciado): sempre lê o valor atual, mesmo após incrementos em massa na mesma transação
+    @Query("select s.statKey, s.itemCount, s.amount from PortfolioStat s")
+    List<Object[]> findAllRaw();
+
+    @Modifying
+    @Query("update PortfolioStat s set s.itemCount = 0, s.amount = 0")
+    void resetAll();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from PortfolioStat s order by s.statKey")
+    List<PortfolioStat> lockAll();
+
+    @Modifying
+    @Query(value = """
+        insert into portfolio_member_stats (member_external_id, allocations)
+        values (:memberId, 0)
+        on conflict do nothing
+    """, nativeQuery = true)
+    int insertMemberIfAbsent(@Param("memberId") String memberId);
+
+    @Modifying
+    @Query(value = """
+        update portfolio_member_stats
+        set allocations = allocations + :delta
+        where member_external_id = :memberId
+    """, nativeQuery = true)
+    int addMemberAllocations(@Param("memberId") String memberId, @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "delete from portfolio_member_stats where member_external_id = :memberId and allocations <= 0",
+           nativeQuery = true)
+    int deleteMemberIfUnallocated(@Param("memberId") String memberId);
+
+    @Modifying
+    @Query(value = "delete from portfolio_member_stats", nativeQuery = true)
+    void clearMemberStats();
+
+    @Modifying
+    @Query(value = """
+        insert into portfolio_member_stats (member_external_id, allocations)
+        select pm.member_external_id, count(*)
+        from project_member pm
+        group by pm.member_external_id
+    """, nativeQuery = true)
+    int rebuildMemberStats();
+}
@@ -0,0 +1,63 @@
+package com.github.dennisoliveira.portfolio.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.dennisoliveira.portfolio.config.DatabasePlatform;
+import com.github.dennisoliveira.portfolio.dto.ProjectFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.OptionalLong;
+
+// Total aproximado de projetos a partir das estatísticas do planner do Postgres, sem executar count(*)
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class ProjectCountEstimator {
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final DatabasePlatform platform;
+    private final ObjectMapper objectMapper;
+    private final ProjectQueryShapes shapes;
+
+    // Vazio quando não há estimativa (outro banco ou tabela ainda sem ANALYZE)
+    public OptionalLong estimate(ProjectFilter filter) {
+        if (!platform.isPostgres()) {
+            return OptionalLong.empty();
+        }
+        try {
+            var shape = shapes.shape(filter, ProjectQueryShapes.Projection.COUNT, Sort.unsorted());
+            return shape.mask() == 0 ? tableEstimate() : planEstimate(filter, shape);
+        } catch (DataAccessException | IllegalStateException e) {
+            log.warn("Could not estimate project count: {}", e.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+
+    // Sem filtros: pg_class.reltuples (-1 = nunca analisada)
+    private OptionalLong tableEstimate() {
+        Double rows = jdbc.getJdbcTemplate().queryForObject(
+                "select reltuples from pg_class where oid = 'project'::regclass", Double.class);
+        return rows == null || rows < 0 ? OptionalLong.empty() : OptionalLong.of(Math.round(rows));
+    }
+
+    // Com filtros: "Plan Rows" do nó raiz do EXPLAIN (o planner não executa a consulta), com as mesmas condições
+    // que a listagem aplica
+    private OptionalLong planEstimate(ProjectFilter filter, ProjectQueryShapes.Shape shape) {
+        var params = new MapSqlParameterSource(shapes.sqlParameters(filter, shape));
+        String sql = "explain (format json) select 1 from project p where " + shapes.sqlConditions(shape);
+        String plan = jdbc.queryForObject(sql, params, String.class);
+        try {
+            JsonNode rows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            return rows.isNumber() ? OptionalLong.of(rows.asLong()) : OptionalLong.empty();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable EXPLAIN output", e);
+        }
+    }
+}
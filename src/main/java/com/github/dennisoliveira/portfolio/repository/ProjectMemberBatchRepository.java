@@ -0,0 +1,31 @@
+package com.github.dennisoliveira.portfolio.repository;
+
+import com.github.dennisoliveira.portfolio.domain.ProjectMemberId;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+// Inserções de alocações em lote JDBC: um único statement preparado enviado com todas as linhas
+@Repository
+@RequiredArgsConstructor
+public class ProjectMemberBatchRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public void insertAll(Collection<ProjectMemberId> allocations) {
+        if (allocations.isEmpty()) return;
+
+        MapSqlParameterSource[] batch = allocations.stream()
+                .map(a -> new MapSqlParameterSource()
+                        .addValue("projectId", a.getProjectId())
+                        .addValue("memberId", a.getMemberExternalId()))
+                .toArray(MapSqlParameterSource[]::new);
+        jdbc.batchUpdate("""
+            insert into project_member (project_id, member_external_id)
+            values (:projectId, :memberId)
+            """, batch);
+    }
+}
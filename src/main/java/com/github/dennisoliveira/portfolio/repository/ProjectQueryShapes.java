@@ -0,0 +1,171 @@
+package com.github.dennisoliveira.portfolio.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.dennisoliveira.portfolio.domain.Project;
+import com.github.dennisoliveira.portfolio.dto.ProjectFilter;
+import com.github.dennisoliveira.portfolio.dto.ProjectSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.Query;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// JPQL de listagem por "forma" do filtro (quais campos vieram preenchidos) + projeção + ordenação.
+// O texto é sempre o mesmo para a mesma forma, então o Hibernate reaproveita o plano (SQM + SQL) do seu
+// cache de interpretação; os valores entram só como parâmetros.
+// Única tradução de ProjectFilter em condições: listagem, keyset, busca FUZZY e estimativa de total usam Condition.
+@Component
+public class ProjectQueryShapes {
+
+    public enum Projection { ENTITY, SUMMARY, COUNT }
+
+    public record Shape(int mask, Projection projection, Sort sort) {}
+
+    // Cada condição em JPQL (entidade Project) e em SQL (tabela project, alias p), com o mesmo parâmetro
+    private enum Condition {
+        NAME("lower(p.name) like :name escape '\\'", "lower(p.name) like :name escape '\\'", "name",
+                f -> hasText(f.name()) ? likePattern(f.name()) : null),
+        STATUS("p.status = :status", "p.status = :status", "status", ProjectFilter::status),
+        MANAGER("p.managerExternalId = :manager", "p.manager_external_id = :manager", "manager",
+                f -> hasText(f.managerExternalId()) ? f.managerExternalId() : null),
+        START_FROM("p.startDate >= :startFrom", "p.start_date >= :startFrom", "startFrom", ProjectFilter::startDateFrom),
+        START_TO("p.startDate <= :startTo", "p.start_date <= :startTo", "startTo", ProjectFilter::startDateTo),
+        END_FROM("p.expectedEndDate >= :endFrom", "p.expected_end_date >= :endFrom", "endFrom",
+                ProjectFilter::expectedEndFrom),
+        END_TO("p.expectedEndDate <= :endTo", "p.expected_end_date <= :endTo", "endTo", ProjectFilter::expectedEndTo);
+
+        final String jpql;
+        final String sql;
+        final String param;
+        final Function<ProjectFilter, Object> value;
+
+        Condition(String jpql, String sql, String param, Function<ProjectFilter, Object> value) {
+            this.jpql = jpql;
+            this.sql = sql;
+            this.param = param;
+            this.value = value;
+        }
+    }
+
+    private static final String SUMMARY_SELECT = "select new " + ProjectSummary.class.getName()
+            + "(p.id, p.name, p.startDate, p.expectedEndDate, p.actualEndDate, p.totalBudget,"
+            + " p.managerExternalId, p.status, p.risk)";
+
+    private final Cache<Shape, String> cache;
+
+    public ProjectQueryShapes(@Value("${projects.query.shape-cache-size:256}") long maxSize,
+                              MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "project.query.shapes");
+    }
+
+    public Shape shape(ProjectFilter filter, Projection projection, Sort sort) {
+        int mask = 0;
+        for (Condition c : Condition.values()) {
+            if (c.value.apply(filter) != null) mask |= 1 << c.ordinal();
+        }
+        return new Shape(mask, projection, projection == Projection.COUNT ? Sort.unsorted() : sort);
+    }
+
+    public String jpql(Shape shape) {
+        return cache.get(shape, ProjectQueryShapes::build);
+    }
+
+    public <Q extends Query> Q bind(Q query, ProjectFilter filter, Shape shape) {
+        for (Condition c : Condition.values()) {
+            if (has(shape, c)) {
+                query.setParameter(c.param, c.value.apply(filter));
+            }
+        }
+        return query;
+    }
+
+    // Condições da forma em JPQL, unidas por "and"; vazio quando o filtro não tem campos preenchidos
+    public String jpqlConditions(Shape shape) {
+        return conditions(shape, c -> c.jpql);
+    }
+
+    // As mesmas condições em SQL nativo, para consultas sobre a tabela project (alias p)
+    public String sqlConditions(Shape shape) {
+        return conditions(shape, c -> c.sql);
+    }
+
+    // Parâmetros de sqlConditions: enums vão pelo nome, como gravados na coluna
+    public Map<String, Object> sqlParameters(ProjectFilter filter, Shape shape) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        for (Condition c : Condition.values()) {
+            if (has(shape, c)) {
+                Object value = c.value.apply(filter);
+                params.put(c.param, value instanceof Enum<?> e ? e.name() : value);
+            }
+        }
+        return params;
+    }
+
+    // '%termo%' em minúsculas com \, % e _ escapados (usar com "escape '\'")
+    public static String likePattern(String term) {
+        String escaped = term.toLowerCase().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private static String build(Shape shape) {
+        var jpql = new StringBuilder(switch (shape.projection()) {
+            case ENTITY -> "select p";
+            case SUMMARY -> SUMMARY_SELECT;
+            case COUNT -> "select count(p)";
+        }).append(" from Project p");
+
+        String conditions = conditions(shape, c -> c.jpql);
+        if (!conditions.isEmpty()) {
+            jpql.append(" where ").append(conditions);
+        }
+
+        if (shape.sort().isSorted()) {
+            List<String> orders = new ArrayList<>();
+            for (Sort.Order o : shape.sort()) {
+                // valida a propriedade contra a entidade antes de concatená-la no JPQL
+                String property = PropertyPath.from(o.getProperty(), Project.class).toDotPath();
+                orders.add("p." + property + (o.isAscending() ? " asc" : " desc"));
+            }
+            jpql.append(" order by ").append(String.join(", ", orders));
+        }
+        return jpql.toString();
+    }
+
+    private static String conditions(Shape shape, Function<Condition, String> text) {
+        List<String> conditions = new ArrayList<>();
+        for (Condition c : Condition.values()) {
+            if (has(shape, c)) conditions.add(text.apply(c));
+        }
+        return String.join(" and ", conditions);
+    }
+
+    private static boolean has(Shape shape, Condition c) {
+        return (shape.mask() & (1 << c.ordinal())) != 0;
+    }
+
+    private static boolean hasText(String s) {
+        return s != null && !s.isBlank();
+    }
+}
@@ -1,13 +1,40 @@
 package com.github.dennisoliveira.portfolio.repository;
 
 import com.github.dennisoliveira.portfolio.domain.Project;
+import com.github.dennisoliveira.portfolio.domain.ProjectStatus;
+import com.github.dennisoliveira.portfolio.dto.ProjectSummary;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface ProjectRepository extends JpaRepository<Project, Long>, JpaSpecificationExecutor<Project> {
+public interface ProjectRepository extends JpaRepository<Project, Long>, JpaSpecificationExecutor<Project>,
+        ProjectRepositoryCustom {
+
+    @Query("""
+      select new com.github.dennisoliveira.portfolio.dto.ProjectSummary(
+        p.id, p.name, p.startDate, p.expectedEndDate, p.actualEndDate,
+        p.totalBudget, p.managerExternalId, p.status, p.risk)
+      from Project p
+      where p.id = :id
+    """)
+    Optional<ProjectSummary> findSummaryById(@Param("id") Long id);
+
+    // Trava a linha do projeto: alterações de equipe e de status do mesmo projeto se serializam nela
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Project p where p.id = :id")
+    Optional<Project> findByIdForUpdate(@Param("id") Long id);
+
+    // Vários projetos travados sempre em ordem de id, evitando deadlock entre alocações em massa concorrentes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Project p where p.id in :ids order by p.id")
+    List<Project> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
 
     @Query("""
       select p.status, count(p), coalesce(sum(p.totalBudget), 0)
@@ -16,25 +43,11 @@ public interface ProjectRepository extends JpaRepository<Project, Long>, JpaSpec
     """)
     List<Object[]> aggregateByStatusRaw();
 
-    @Query(value = """
-        select coalesce(
-                 avg((p.actual_end_date - p.start_date))::float8,
-                 0
-               )
-        from project p
-        where p.status = 'ENCERRADO'
-          and p.actual_end_date is not null
-    """, nativeQuery = true)
-    Double avgDurationDaysClosedProjects();
-
-    @Query(value = "select count(distinct pm.member_external_id) from project_member pm", nativeQuery = true)
-    Long countDistinctMembersAllocated();
-
-    @Query(value = """
-        select count(distinct pm.member_external_id)
-        from project_member pm
-        join project p on p.id = pm.project_id
-        where p.status not in ('ENCERRADO','CANCELADO')
-    """, nativeQuery = true)
-    Long countDistinctMembersAllocatedActive();
+    @Query("""
+      select count(p), coalesce(sum((p.actualEndDate - p.startDate) by day), 0)
+      from Project p
+      where p.status = :status
+        and p.actualEndDate is not null
+    """)
+    List<Object[]> durationTotalsByStatus(@Param("status") ProjectStatus status);
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.github.dennisoliveira.portfolio.repository;
+
+import com.github.dennisoliveira.portfolio.domain.Project;
+import com.github.dennisoliveira.portfolio.dto.ProjectFilter;
+import com.github.dennisoliveira.portfolio.dto.ProjectSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+public interface ProjectRepositoryCustom {
+
+    List<Project> findPageAfter(ProjectFilter filter, ProjectSeek seek, int limit);
+
+    List<Long> findIdsByFuzzyName(String term, ProjectFilter filter, int limit);
+
+    Page<Project> findMatching(ProjectFilter filter, Pageable pageable);
+
+    Page<ProjectSummary> findMatchingSummaries(ProjectFilter filter, Pageable pageable);
+
+    Slice<Project> findMatchingSlice(ProjectFilter filter, Pageable pageable);
+
+    Slice<ProjectSummary> findMatchingSummarySlice(ProjectFilter filter, Pageable pageable);
+
+    long countMatching(ProjectFilter filter);
+}
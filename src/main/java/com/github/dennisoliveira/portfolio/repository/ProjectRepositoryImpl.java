@@ -0,0 +1,155 @@
+package com.github.dennisoliveira.portfolio.repository;
+
+import com.github.dennisoliveira.portfolio.config.DatabasePlatform;
+import com.github.dennisoliveira.portfolio.domain.Project;
+import com.github.dennisoliveira.portfolio.dto.ProjectFilter;
+import com.github.dennisoliveira.portfolio.dto.ProjectSummary;
+import com.github.dennisoliveira.portfolio.repository.ProjectQueryShapes.Projection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProjectRepositoryImpl implements ProjectRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final DatabasePlatform platform;
+    private final ProjectQueryShapes shapes;
+
+    public ProjectRepositoryImpl(DatabasePlatform platform, ProjectQueryShapes shapes) {
+        this.platform = platform;
+        this.shapes = shapes;
+    }
+
+    // Keyset: "where (campo, id) > (último valor, último id) order by campo, id limit n" — sem offset e sem count
+    @Override
+    public List<Project> findPageAfter(ProjectFilter filter, ProjectSeek seek, int limit) {
+        var shape = shapes.shape(filter, Projection.ENTITY, Sort.unsorted());
+        List<String> where = new ArrayList<>();
+        String conditions = shapes.jpqlConditions(shape);
+        if (!conditions.isEmpty()) {
+            where.add(conditions);
+        }
+
+        boolean asc = seek.direction().isAscending();
+        String op = asc ? " > " : " < ";
+        String dir = asc ? " asc" : " desc";
+        // property() vem do enum SortField, nunca do cliente
+        String field = "p." + seek.field().property();
+        boolean byId = seek.field() == ProjectSeek.SortField.ID;
+        if (!seek.isFirstPage()) {
+            where.add(byId
+                    ? "p.id" + op + ":seekId"
+                    : "(" + field + op + ":seekValue or (" + field + " = :seekValue and p.id" + op + ":seekId))");
+        }
+
+        String jpql = "select p from Project p"
+                + (where.isEmpty() ? "" : " where " + String.join(" and ", where))
+                + " order by " + (byId ? "p.id" + dir : field + dir + ", p.id" + dir);
+        var query = shapes.bind(em.createQuery(jpql, Project.class), filter, shape);
+        if (!seek.isFirstPage()) {
+            query.setParameter("seekId", seek.lastId());
+            if (!byId) query.setParameter("seekValue", seek.lastValue());
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Page<Project> findMatching(ProjectFilter filter, Pageable pageable) {
+        return page(filter, pageable, Projection.ENTITY, Project.class);
+    }
+
+    // Seleciona só as colunas de ProjectSummary (sem o TEXT description) em vez de hidratar a entidade inteira
+    @Override
+    public Page<ProjectSummary> findMatchingSummaries(ProjectFilter filter, Pageable pageable) {
+        return page(filter, pageable, Projection.SUMMARY, ProjectSummary.class);
+    }
+
+    // Slice: busca size + 1 linhas para saber se há próxima página, sem a consulta de count
+    @Override
+    public Slice<Project> findMatchingSlice(ProjectFilter filter, Pageable pageable) {
+        return slice(filter, pageable, Projection.ENTITY, Project.class);
+    }
+
+    @Override
+    public Slice<ProjectSummary> findMatchingSummarySlice(ProjectFilter filter, Pageable pageable) {
+        return slice(filter, pageable, Projection.SUMMARY, ProjectSummary.class);
+    }
+
+    @Override
+    public long countMatching(ProjectFilter filter) {
+        var shape = shapes.shape(filter, Projection.COUNT, Sort.unsorted());
+        return shapes.bind(em.createQuery(shapes.jpql(shape), Long.class), filter, shape).getSingleResult();
+    }
+
+    private <T> Page<T> page(ProjectFilter filter, Pageable pageable, Projection projection, Class<T> type) {
+        var query = typedQuery(filter, pageable.getSort(), projection, type);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> countMatching(filter));
+    }
+
+    private <T> Slice<T> slice(ProjectFilter filter, Pageable pageable, Projection projection, Class<T> type) {
+        var query = typedQuery(filter, pageable.getSort(), projection, type);
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(query.getResultList(), pageable, false);
+        }
+        List<T> rows = query.setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    private <T> TypedQuery<T> typedQuery(ProjectFilter filter, Sort sort, Projection projection, Class<T> type) {
+        var shape = shapes.shape(filter, projection, sort);
+        return shapes.bind(em.createQuery(shapes.jpql(shape), type), filter, shape);
+    }
+
+    // Ids ordenados por relevância, já com os demais filtros aplicados (o nome de filter é ignorado);
+    // no Postgres o operador % usa o índice trigram ix_project_name_trgm
+    @Override
+    public List<Long> findIdsByFuzzyName(String term, ProjectFilter filter, int limit) {
+        var others = new ProjectFilter(null, filter.status(), filter.managerExternalId(), filter.startDateFrom(),
+                filter.startDateTo(), filter.expectedEndFrom(), filter.expectedEndTo());
+        var shape = shapes.shape(others, Projection.ENTITY, Sort.unsorted());
+        String conditions = shapes.sqlConditions(shape);
+        String and = conditions.isEmpty() ? "" : " and " + conditions;
+
+        String sql = platform.isPostgres()
+                ? """
+                    select p.id from project p
+                    where lower(p.name) %% lower(:term)%s
+                    order by similarity(lower(p.name), lower(:term)) desc, p.id
+                    limit :limit
+                  """.formatted(and)
+                // H2: sem pg_trgm; aproxima com substring, priorizando ocorrência mais cedo e nomes mais curtos
+                : """
+                    select p.id from project p
+                    where lower(p.name) like :pattern escape '\\'%s
+                    order by locate(lower(:term), lower(p.name)), length(p.name), p.id
+                    limit :limit
+                  """.formatted(and);
+
+        var query = em.createNativeQuery(sql)
+                .setParameter("term", term)
+                .setParameter("limit", limit);
+        if (!platform.isPostgres()) {
+            query.setParameter("pattern", ProjectQueryShapes.likePattern(term));
+        }
+        shapes.sqlParameters(others, shape).forEach(query::setParameter);
+        List<?> rows = query.getResultList();
+        return rows.stream().map(r -> ((Number) r).longValue()).toList();
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.dennisoliveira.portfolio.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.function.Function;
+
+// Posição de keyset: ordenação (campo + direção) e a chave (valor, id) do último item da página anterior
+public record ProjectSeek(SortField field, Sort.Direction direction, @Nullable Object lastValue, @Nullable Long lastId) {
+
+    public enum SortField {
+        ID("id", Long::valueOf),
+        START_DATE("startDate", LocalDate::parse),
+        EXPECTED_END_DATE("expectedEndDate", LocalDate::parse),
+        TOTAL_BUDGET("totalBudget", BigDecimal::new);
+
+        private final String property;
+        private final Function<String, Object> parser;
+
+        SortField(String property, Function<String, Object> parser) {
+            this.property = property;
+            this.parser = parser;
+        }
+
+        public String property() { return property; }
+
+        public static SortField fromProperty(String property) {
+            for (SortField f : values()) {
+                if (f.property.equals(property)) return f;
+            }
+            throw new IllegalArgumentException("Unsupported sort field: " + property);
+        }
+    }
+
+    public static ProjectSeek first(SortField field, Sort.Direction direction) {
+        return new ProjectSeek(field, direction, null, null);
+    }
+
+    public boolean isFirstPage() {
+        return lastId == null;
+    }
+
+    public ProjectSeek after(Object value, Long id) {
+        return new ProjectSeek(field, direction, value, id);
+    }
+
+    // Cursor opaco para o cliente: base64url("campo|direção|valor|id")
+    public String encode() {
+        String raw = String.join("|", field.name(), direction.name(), String.valueOf(lastValue), String.valueOf(lastId));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProjectSeek decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 4) throw new IllegalArgumentException("Malformed cursor");
+
+            SortField field = SortField.valueOf(parts[0]);
+            return new ProjectSeek(field, Sort.Direction.valueOf(parts[1]),
+                    field.parser.apply(parts[2]), Long.valueOf(parts[3]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
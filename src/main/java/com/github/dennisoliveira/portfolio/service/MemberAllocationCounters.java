@@ -0,0 +1,91 @@
+package com.github.dennisoliveira.portfolio.service;
+
+import com.github.dennisoliveira.portfolio.exception.BusinessRuleException;
+import com.github.dennisoliveira.portfolio.repository.MemberAllocationCounterRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Contadores de projetos ativos por membro (member_allocation_counter). O limite é garantido pelo banco:
+// o UPDATE condicional trava só a linha do membro, então alocações concorrentes do mesmo membro se
+// serializam nela e a que passaria do limite não atualiza nada.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MemberAllocationCounters {
+
+    public static final int MAX_ACTIVE_PROJECTS = 3;
+
+    private final MemberAllocationCounterRepository counterRepo;
+
+    // Membros passam a ocupar uma vaga de projeto ativo; falha (e desfaz a transação) se algum já estiver no limite
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void acquire(Collection<String> memberExternalIds) {
+        tryAcquire(memberExternalIds).ifPresent(memberId -> {
+            throw new BusinessRuleException(limitExceededMessage(memberId));
+        });
+    }
+
+    // Como acquire, sem exceção: devolve o primeiro membro já no limite e desfaz os incrementos feitos nesta chamada
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<String> tryAcquire(Collection<String> memberExternalIds) {
+        List<String> acquired = new ArrayList<>();
+        // TreeSet: linhas sempre travadas na mesma ordem, evitando deadlock entre transações concorrentes
+        for (String memberId : new TreeSet<>(memberExternalIds)) {
+            counterRepo.insertIfAbsent(memberId);
+            if (counterRepo.incrementIfBelow(memberId, MAX_ACTIVE_PROJECTS) == 0) {
+                release(acquired);
+                return Optional.of(memberId);
+            }
+            acquired.add(memberId);
+        }
+        return Optional.empty();
+    }
+
+    // Trava de uma vez, em ordem, as linhas de todos os membros de uma operação que fará vários tryAcquire
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lock(Collection<String> memberExternalIds) {
+        if (memberExternalIds.isEmpty()) return;
+        Set<String> sorted = new TreeSet<>(memberExternalIds);
+        sorted.forEach(counterRepo::insertIfAbsent);
+        counterRepo.lockAll(sorted);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Collection<String> memberExternalIds) {
+        for (String memberId : new TreeSet<>(memberExternalIds)) {
+            counterRepo.decrement(memberId);
+        }
+    }
+
+    // Reconstrói os contadores a partir de project_member/project. As linhas são travadas antes do recálculo:
+    // alocações em andamento terminam antes e as novas esperam, então o recálculo não perde nenhuma.
+    @Transactional
+    public int rebuild() {
+        counterRepo.insertMissing();
+        counterRepo.lockEvery();
+        int corrected = counterRepo.recomputeAll();
+        if (corrected > 0) {
+            log.warn("Member allocation counters corrected for {} members", corrected);
+        }
+        return corrected;
+    }
+
+    public static String limitExceededMessage(String memberExternalId) {
+        return "Member exceeds active projects limit (max=%d) (id=%s).".formatted(MAX_ACTIVE_PROJECTS, memberExternalId);
+    }
+
+    public int activeCount(String memberExternalId) {
+        Integer count = counterRepo.findActiveCount(memberExternalId);
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,107 @@
+package com.github.dennisoliveira.portfolio.service;
+
+import com.github.dennisoliveira.portfolio.domain.ProjectStatus;
+import com.github.dennisoliveira.portfolio.dto.PortfolioReportResponse.CountMode;
+import com.github.dennisoliveira.portfolio.event.MembersAllocatedEvent;
+import com.github.dennisoliveira.portfolio.repository.PortfolioAnalyticsRepository;
+import com.github.dennisoliveira.portfolio.service.domain.HyperLogLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+// Sketches HyperLogLog de membros alocados por status do projeto; global e ativos saem da união dos sketches
+@Slf4j
+@Component
+public class MemberSketches {
+
+    private final PortfolioAnalyticsRepository analyticsRepo;
+    private final PortfolioReportCache reportCache;
+    private final CountMode mode;
+    private final int precision;
+
+    private volatile Map<ProjectStatus, HyperLogLog> current;
+    private volatile Map<ProjectStatus, HyperLogLog> building;
+
+    public MemberSketches(PortfolioAnalyticsRepository analyticsRepo,
+                          PortfolioReportCache reportCache,
+                          @Value("${portfolio.report.distinct-members.mode:EXACT}") CountMode mode,
+                          @Value("${portfolio.report.distinct-members.precision:14}") int precision) {
+        this.analyticsRepo = analyticsRepo;
+        this.reportCache = reportCache;
+        this.mode = mode;
+        this.precision = precision;
+        this.current = emptySketches();
+    }
+
+    public boolean isEnabled() {
+        return mode == CountMode.APPROXIMATE;
+    }
+
+    public double relativeStandardError() {
+        return new HyperLogLog(precision).relativeStandardError();
+    }
+
+    public long estimate(Set<ProjectStatus> statuses) {
+        var union = new HyperLogLog(precision);
+        var sketches = current;
+        statuses.forEach(s -> union.merge(sketches.get(s)));
+        return union.estimate();
+    }
+
+    public long estimate(ProjectStatus status) {
+        return current.get(status).estimate();
+    }
+
+    @TransactionalEventListener
+    public void onMembersAllocated(MembersAllocatedEvent event) {
+        if (!isEnabled()) return;
+        add(current, event);
+        var inProgress = building;
+        if (inProgress != null) add(inProgress, event);
+    }
+
+    // HLL não suporta remoção: remoções e mudanças de status só são refletidas na reconstrução periódica
+    @Scheduled(initialDelayString = "${portfolio.report.distinct-members.rebuild-initial-delay:0s}",
+               fixedDelayString = "${portfolio.report.distinct-members.rebuild-interval:15m}")
+    public void scheduledRebuild() {
+        if (!isEnabled()) return;
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Member sketches rebuild failed: {}", e.getMessage());
+        }
+    }
+
+    public synchronized void rebuild() {
+        var fresh = emptySketches();
+        building = fresh;
+        try {
+            analyticsRepo.forEachAllocation((memberId, status) -> fresh.get(status).add(memberId));
+            current = fresh;
+        } finally {
+            building = null;
+        }
+        // o relatório em cache não pode mostrar estimativas anteriores aos sketches atuais
+        reportCache.evict();
+        log.debug("Member sketches rebuilt");
+    }
+
+    private static void add(Map<ProjectStatus, HyperLogLog> sketches, MembersAllocatedEvent event) {
+        var sketch = sketches.get(event.projectStatus());
+        event.memberExternalIds().forEach(sketch::add);
+    }
+
+    private Map<ProjectStatus, HyperLogLog> emptySketches() {
+        Map<ProjectStatus, HyperLogLog> sketches = new EnumMap<>(ProjectStatus.class);
+        for (ProjectStatus s : ProjectStatus.values()) {
+            sketches.put(s, new HyperLogLog(precision));
+        }
+        return sketches;
+    }
+}
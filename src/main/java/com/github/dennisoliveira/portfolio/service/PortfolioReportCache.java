@@ -0,0 +1,105 @@
+package com.github.dennisoliveira.portfolio.service;
+
+import com.github.dennisoliveira.portfolio.dto.PortfolioReportResponse;
+import com.github.dennisoliveira.portfolio.event.ProjectChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+public class PortfolioReportCache {
+
+    private record Entry(PortfolioReportResponse report, long generation, Instant builtAt) {}
+
+    private final Duration maxStaleness;
+    private final Clock clock;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Entry entry;
+    private volatile Instant evictedAt = Instant.MIN;
+
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Timer rebuildTimer;
+
+    @Autowired
+    public PortfolioReportCache(@Value("${portfolio.report.cache.max-staleness:0s}") Duration maxStaleness,
+                                MeterRegistry meterRegistry) {
+        this(maxStaleness, Clock.systemUTC(), meterRegistry);
+    }
+
+    PortfolioReportCache(Duration maxStaleness, Clock clock, MeterRegistry meterRegistry) {
+        this.maxStaleness = maxStaleness;
+        this.clock = clock;
+        this.hits = Counter.builder("portfolio.report.cache").tag("result", "hit").register(meterRegistry);
+        this.staleHits = Counter.builder("portfolio.report.cache").tag("result", "stale_hit").register(meterRegistry);
+        this.misses = Counter.builder("portfolio.report.cache").tag("result", "miss").register(meterRegistry);
+        this.rebuildTimer = Timer.builder("portfolio.report.rebuild")
+                .description("Time to rebuild the portfolio report after an invalidation")
+                .register(meterRegistry);
+    }
+
+    // max-staleness = 0: invalida a cada alteração; > 0: tolera um relatório desatualizado por até esse tempo
+    public PortfolioReportResponse get(Supplier<PortfolioReportResponse> builder) {
+        Entry current = entry;
+        if (current != null) {
+            if (current.generation() == generation.get()) {
+                hits.increment();
+                return current.report();
+            }
+            if (withinStaleness(current)) {
+                staleHits.increment();
+                return current.report();
+            }
+        }
+        return rebuild(builder);
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    // Invalida ignorando o max-staleness: nenhum relatório montado antes deste instante volta a ser servido
+    public void evict() {
+        evictedAt = clock.instant();
+        generation.incrementAndGet();
+    }
+
+    // Só após o commit: evita reconstruir com dados de uma transação que ainda pode sofrer rollback
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        invalidate();
+    }
+
+    private synchronized PortfolioReportResponse rebuild(Supplier<PortfolioReportResponse> builder) {
+        Entry current = entry;
+        long gen = generation.get();
+        if (current != null && current.generation() == gen) {
+            hits.increment();
+            return current.report();
+        }
+
+        misses.increment();
+        // geração e instante lidos antes da consulta: uma alteração concorrente deixa a entrada já invalidada
+        Instant startedAt = clock.instant();
+        PortfolioReportResponse report = rebuildTimer.record(builder);
+        entry = new Entry(report, gen, startedAt);
+        return report;
+    }
+
+    private boolean withinStaleness(Entry current) {
+        return !maxStaleness.isZero()
+                && !current.builtAt().isBefore(evictedAt)
+                && Duration.between(current.builtAt(), clock.instant()).compareTo(maxStaleness) < 0;
+    }
+}
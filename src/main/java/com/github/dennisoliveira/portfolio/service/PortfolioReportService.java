@@ -2,23 +2,62 @@ package com.github.dennisoliveira.portfolio.service;
 
 import com.github.dennisoliveira.portfolio.domain.ProjectStatus;
 import com.github.dennisoliveira.portfolio.dto.PortfolioReportResponse;
-import com.github.dennisoliveira.portfolio.repository.ProjectRepository;
-import lombok.RequiredArgsConstructor;
+import com.github.dennisoliveira.portfolio.dto.PortfolioReportResponse.CountMode;
+import com.github.dennisoliveira.portfolio.dto.PortfolioTimeseriesResponse;
+import com.github.dennisoliveira.portfolio.dto.PortfolioTimeseriesResponse.DateField;
+import com.github.dennisoliveira.portfolio.dto.PortfolioTimeseriesResponse.Granularity;
+import com.github.dennisoliveira.portfolio.exception.BusinessRuleException;
+import com.github.dennisoliveira.portfolio.repository.PortfolioAnalyticsRepository;
+import com.github.dennisoliveira.portfolio.repository.PortfolioStatsRepository;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.Map;
+import java.util.Set;
+
+import static com.github.dennisoliveira.portfolio.service.PortfolioStatsService.*;
 
 @Service
-@RequiredArgsConstructor
 public class PortfolioReportService {
 
-    private final ProjectRepository projectRepo;
+    private static final Set<ProjectStatus> ACTIVE_STATUSES =
+            EnumSet.complementOf(EnumSet.of(ProjectStatus.ENCERRADO, ProjectStatus.CANCELADO));
+
+    private final PortfolioStatsRepository statsRepo;
+    private final MemberSketches sketches;
+    private final PortfolioReportCache cache;
+    private final PortfolioAnalyticsRepository analyticsRepo;
+    private final TransactionTemplate readOnlyTx;
+
+    public PortfolioReportService(PortfolioStatsRepository statsRepo,
+                                  MemberSketches sketches,
+                                  PortfolioReportCache cache,
+                                  PortfolioAnalyticsRepository analyticsRepo,
+                                  PlatformTransactionManager txManager) {
+        this.statsRepo = statsRepo;
+        this.sketches = sketches;
+        this.cache = cache;
+        this.analyticsRepo = analyticsRepo;
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
 
-    @Transactional(readOnly = true)
     public PortfolioReportResponse build() {
+        // buildFresh chamado em this não passa pelo proxy: a transação somente leitura é aberta aqui, para que
+        // portfolio_stats e as demais leituras vejam o mesmo snapshot
+        return cache.get(() -> readOnlyTx.execute(status -> buildFresh()));
+    }
+
+    // Lê as poucas linhas de portfolio_stats mantidas pelo PortfolioStatsService (sem agregação sobre project)
+    @Transactional(readOnly = true)
+    public PortfolioReportResponse buildFresh() {
 
         Map<ProjectStatus, Long> qtyByStatus = new EnumMap<>(ProjectStatus.class);
         Map<ProjectStatus, BigDecimal> budgetByStatus = new EnumMap<>(ProjectStatus.class);
@@ -27,23 +66,54 @@ public class PortfolioReportService {
             budgetByStatus.put(s, BigDecimal.ZERO);
         }
 
-        for (Object[] row : projectRepo.aggregateByStatusRaw()) {
-            ProjectStatus status  = (ProjectStatus) row[0];
-            long qty              = ((Number) row[1]).longValue();
-            BigDecimal total      = (BigDecimal) row[2];
+        double avgDays = 0.0;
+        long uniqueMembers = 0L;
+
+        for (Object[] row : statsRepo.findAllRaw()) {
+            String key        = (String) row[0];
+            long count        = ((Number) row[1]).longValue();
+            BigDecimal amount = (BigDecimal) row[2];
 
-            qtyByStatus.put(status, qty);
-            budgetByStatus.put(status, total != null ? total : BigDecimal.ZERO);
+            if (key.startsWith(STATUS_PREFIX)) {
+                ProjectStatus status = ProjectStatus.valueOf(key.substring(STATUS_PREFIX.length()));
+                qtyByStatus.put(status, count);
+                budgetByStatus.put(status, amount);
+            } else if (CLOSED_DURATION.equals(key) && count > 0) {
+                avgDays = amount.doubleValue() / count;
+            } else if (DISTINCT_MEMBERS.equals(key)) {
+                uniqueMembers = count;
+            }
         }
 
-        double avgDays = projectRepo.avgDurationDaysClosedProjects() != null
-                ? projectRepo.avgDurationDaysClosedProjects()
-                : 0.0;
+        if (sketches.isEnabled()) {
+            Map<ProjectStatus, Long> membersByStatus = new EnumMap<>(ProjectStatus.class);
+            for (ProjectStatus s : ProjectStatus.values()) {
+                membersByStatus.put(s, sketches.estimate(s));
+            }
+            return new PortfolioReportResponse(qtyByStatus, budgetByStatus, avgDays,
+                    sketches.estimate(EnumSet.allOf(ProjectStatus.class)),
+                    sketches.estimate(ACTIVE_STATUSES),
+                    membersByStatus,
+                    CountMode.APPROXIMATE,
+                    sketches.relativeStandardError());
+        }
 
-        long uniqueMembers = projectRepo.countDistinctMembersAllocated() != null
-                ? projectRepo.countDistinctMembersAllocated()
-                : 0L;
+        // Exato só o que portfolio_stats mantém incrementalmente; por status e ativos exigiriam count(distinct) sobre
+        // project_member a cada reconstrução, então só são informados no modo APPROXIMATE
+        return new PortfolioReportResponse(qtyByStatus, budgetByStatus, avgDays, uniqueMembers,
+                null,
+                null,
+                CountMode.EXACT,
+                0.0);
+    }
 
-        return new PortfolioReportResponse(qtyByStatus, budgetByStatus, avgDays, uniqueMembers);
+    @Transactional(readOnly = true)
+    public PortfolioTimeseriesResponse timeseries(Granularity granularity, DateField dateField,
+                                                  @Nullable LocalDate from, @Nullable LocalDate to) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new BusinessRuleException("to must be >= from");
+        }
+        return new PortfolioTimeseriesResponse(granularity, dateField,
+                analyticsRepo.timeseries(granularity, dateField, from, to));
     }
 }
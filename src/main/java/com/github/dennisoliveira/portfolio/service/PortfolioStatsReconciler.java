@@ -0,0 +1,47 @@
+package com.github.dennisoliveira.portfolio.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class PortfolioStatsReconciler {
+
+    private final PortfolioStatsService statsService;
+    private final PortfolioReportCache reportCache;
+    private final MemberAllocationCounters allocationCounters;
+    private final boolean enabled;
+
+    public PortfolioStatsReconciler(PortfolioStatsService statsService,
+                                    PortfolioReportCache reportCache,
+                                    MemberAllocationCounters allocationCounters,
+                                    @Value("${portfolio.stats.reconcile.enabled:true}") boolean enabled) {
+        this.statsService = statsService;
+        this.reportCache = reportCache;
+        this.allocationCounters = allocationCounters;
+        this.enabled = enabled;
+    }
+
+    // Corrige eventuais desvios dos contadores incrementais (portfolio_stats e member_allocation_counter),
+    // ex.: alterações feitas direto no banco
+    @Scheduled(initialDelayString = "${portfolio.stats.reconcile.initial-delay:0s}",
+               fixedDelayString = "${portfolio.stats.reconcile.interval:1h}")
+    public void scheduledRebuild() {
+        if (!enabled) return;
+        try {
+            long start = System.nanoTime();
+            statsService.rebuild();
+            reportCache.invalidate();
+            log.info("Portfolio stats reconciled in {} ms", (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Portfolio stats reconciliation failed: {}", e.getMessage());
+        }
+        try {
+            allocationCounters.rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Member allocation counters reconciliation failed: {}", e.getMessage());
+        }
+    }
+}
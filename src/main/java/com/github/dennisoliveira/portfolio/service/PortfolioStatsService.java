@@ -0,0 +1,132 @@
+package com.github.dennisoliveira.portfolio.service;
+
+import com.github.dennisoliveira.portfolio.domain.Project;
+import com.github.dennisoliveira.portfolio.domain.ProjectStatus;
+import com.github.dennisoliveira.portfolio.repository.PortfolioStatsRepository;
+import com.github.dennisoliveira.portfolio.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PortfolioStatsService {
+
+    static final String STATUS_PREFIX = "status:";
+    static final String CLOSED_DURATION = "closed_duration";
+    static final String DISTINCT_MEMBERS = "distinct_members";
+
+    private final PortfolioStatsRepository statsRepo;
+    private final ProjectRepository projectRepo;
+
+    // Contribuição de um projeto para as estatísticas (status, orçamento e duração quando encerrado)
+    public record ProjectStatsSnapshot(ProjectStatus status, BigDecimal budget, @Nullable Long closedDays) {
+
+        public static ProjectStatsSnapshot of(Project p) {
+            Long closedDays = p.getStatus() == ProjectStatus.ENCERRADO && p.getActualEndDate() != null
+                    ? ChronoUnit.DAYS.between(p.getStartDate(), p.getActualEndDate())
+                    : null;
+            return new ProjectStatsSnapshot(p.getStatus(), p.getTotalBudget(), closedDays);
+        }
+    }
+
+    private record Delta(long count, BigDecimal amount) {
+        Delta plus(Delta other) {
+            return new Delta(count + other.count, amount.add(other.amount));
+        }
+
+        boolean isZero() {
+            return count == 0 && amount.signum() == 0;
+        }
+    }
+
+    static String statusKey(ProjectStatus status) {
+        return STATUS_PREFIX + status.name();
+    }
+
+    // before/after nulos representam projeto inexistente (criação/exclusão); roda na transação da alteração
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void projectChanged(@Nullable ProjectStatsSnapshot before, @Nullable ProjectStatsSnapshot after) {
+        // TreeMap: linhas sempre atualizadas na mesma ordem, evitando deadlock entre transações concorrentes
+        Map<String, Delta> deltas = new TreeMap<>();
+        if (before != null) accumulate(deltas, before, -1);
+        if (after != null) accumulate(deltas, after, 1);
+
+        deltas.forEach((key, delta) -> {
+            if (!delta.isZero()) statsRepo.increment(key, delta.count(), delta.amount());
+        });
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void membersAllocated(Collection<String> memberExternalIds) {
+        long newMembers = 0;
+        for (String memberId : new TreeSet<>(memberExternalIds)) {
+            // Um membersReleased concorrente pode zerar e apagar a linha entre o insert e o update: o update
+            // não encontra nada e a linha é recriada, agora contando o membro como novo
+            int inserted;
+            do {
+                inserted = statsRepo.insertMemberIfAbsent(memberId);
+            } while (statsRepo.addMemberAllocations(memberId, 1) == 0);
+            newMembers += inserted;
+        }
+        if (newMembers > 0) {
+            statsRepo.increment(DISTINCT_MEMBERS, newMembers, BigDecimal.ZERO);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void membersReleased(Collection<String> memberExternalIds) {
+        long goneMembers = 0;
+        for (String memberId : new TreeSet<>(memberExternalIds)) {
+            statsRepo.addMemberAllocations(memberId, -1);
+            goneMembers += statsRepo.deleteMemberIfUnallocated(memberId);
+        }
+        if (goneMembers > 0) {
+            statsRepo.increment(DISTINCT_MEMBERS, -goneMembers, BigDecimal.ZERO);
+        }
+    }
+
+    // Reconstrói tudo a partir de project/project_member; o lock nas linhas serializa com os incrementos em andamento
+    @Transactional
+    public void rebuild() {
+        statsRepo.lockAll();
+        statsRepo.resetAll();
+
+        for (Object[] row : projectRepo.aggregateByStatusRaw()) {
+            ProjectStatus status = (ProjectStatus) row[0];
+            long qty = ((Number) row[1]).longValue();
+            BigDecimal total = (BigDecimal) row[2];
+            statsRepo.increment(statusKey(status), qty, total != null ? total : BigDecimal.ZERO);
+        }
+
+        for (Object[] row : projectRepo.durationTotalsByStatus(ProjectStatus.ENCERRADO)) {
+            long qty = ((Number) row[0]).longValue();
+            long days = ((Number) row[1]).longValue();
+            statsRepo.increment(CLOSED_DURATION, qty, BigDecimal.valueOf(days));
+        }
+
+        statsRepo.clearMemberStats();
+        int members = statsRepo.rebuildMemberStats();
+        statsRepo.increment(DISTINCT_MEMBERS, members, BigDecimal.ZERO);
+        log.debug("Portfolio stats rebuilt ({} distinct members)", members);
+    }
+
+    private static void accumulate(Map<String, Delta> deltas, ProjectStatsSnapshot s, int sign) {
+        BigDecimal budget = s.budget() != null ? s.budget() : BigDecimal.ZERO;
+        deltas.merge(statusKey(s.status()), new Delta(sign, budget.multiply(BigDecimal.valueOf(sign))), Delta::plus);
+        if (s.closedDays() != null) {
+            deltas.merge(CLOSED_DURATION, new Delta(sign, BigDecimal.valueOf(s.closedDays() * sign)), Delta::plus);
+        }
+    }
+}
@@ -1,30 +1,48 @@
 package com.github.dennisoliveira.portfolio.service;
 
+import com.github.dennisoliveira.portfolio.config.ProjectListingProperties;
 import com.github.dennisoliveira.portfolio.domain.Project;
 import com.github.dennisoliveira.portfolio.domain.ProjectMember;
 import com.github.dennisoliveira.portfolio.domain.ProjectMemberId;
 import com.github.dennisoliveira.portfolio.domain.ProjectStatus;
+import com.github.dennisoliveira.portfolio.dto.BulkAllocationResponse;
+import com.github.dennisoliveira.portfolio.dto.CursorPageResponse;
+import com.github.dennisoliveira.portfolio.dto.NameMatch;
+import com.github.dennisoliveira.portfolio.dto.PageResponse;
+import com.github.dennisoliveira.portfolio.dto.PageTotal;
 import com.github.dennisoliveira.portfolio.dto.ProjectCreateRequest;
+import com.github.dennisoliveira.portfolio.dto.ProjectFilter;
+import com.github.dennisoliveira.portfolio.dto.ProjectSummary;
+import com.github.dennisoliveira.portfolio.event.MembersAllocatedEvent;
+import com.github.dennisoliveira.portfolio.event.ProjectChangedEvent;
+import com.github.dennisoliveira.portfolio.event.ProjectChangedEvent.Type;
 import com.github.dennisoliveira.portfolio.exception.BusinessRuleException;
 import com.github.dennisoliveira.portfolio.exception.NotFoundException;
+import com.github.dennisoliveira.portfolio.integration.members.ExternalMemberDTO;
 import com.github.dennisoliveira.portfolio.integration.members.MemberClient;
 import com.github.dennisoliveira.portfolio.mapper.ProjectMapper;
+import com.github.dennisoliveira.portfolio.repository.ProjectCountEstimator;
+import com.github.dennisoliveira.portfolio.repository.ProjectMemberBatchRepository;
 import com.github.dennisoliveira.portfolio.repository.ProjectMemberRepository;
 import com.github.dennisoliveira.portfolio.repository.ProjectRepository;
+import com.github.dennisoliveira.portfolio.repository.ProjectSeek;
+import com.github.dennisoliveira.portfolio.service.PortfolioStatsService.ProjectStatsSnapshot;
 import com.github.dennisoliveira.portfolio.service.domain.RiskClassifier;
 import com.github.dennisoliveira.portfolio.service.domain.StatusTransitionValidator;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.BiFunction;
 
 @Service
 @RequiredArgsConstructor
@@ -36,6 +54,12 @@ public class ProjectService {
     private final RiskClassifier riskClassifier;
     private final ProjectMapper mapper;
     private final MemberClient memberClient;
+    private final PortfolioStatsService statsService;
+    private final MemberAllocationCounters allocationCounters;
+    private final ProjectMemberBatchRepository batchRepo;
+    private final ApplicationEventPublisher events;
+    private final ProjectCountEstimator countEstimator;
+    private final ProjectListingProperties listing;
 
     private static final Set<ProjectStatus> CLOSED_STATUSES =
             EnumSet.of(ProjectStatus.ENCERRADO, ProjectStatus.CANCELADO);
@@ -55,59 +79,124 @@ public class ProjectService {
 
         p.setRisk(riskClassifier.classify(p.getTotalBudget(), p.getStartDate(), p.getExpectedEndDate()));
 
-        return projectRepo.save(p);
+        Project saved = projectRepo.save(p);
+        statsService.projectChanged(null, ProjectStatsSnapshot.of(p));
+        events.publishEvent(new ProjectChangedEvent(p.getId(), Type.CREATED));
+        return saved;
     }
 
+    // Total sob demanda: EXACT faz count(*); NONE só busca size + 1 linhas; ESTIMATED usa a estimativa do planner
     @Transactional(Transactional.TxType.SUPPORTS)
-    public Page<Project> list(
-            String name,
-            ProjectStatus status,
-            String managerExternalId,
-            LocalDate startDateFrom,
-            LocalDate startDateTo,
-            LocalDate expectedEndFrom,
-            LocalDate expectedEndTo,
-            Pageable pageable
-    ) {
-        Specification<Project> spec = (root, q, cb) -> cb.conjunction();
+    public PageResponse<Project> listPage(ProjectFilter filter, NameMatch nameMatch, Pageable pageable, PageTotal total) {
+        if (nameMatch == NameMatch.FUZZY && filter.name() != null && !filter.name().isBlank()) {
+            return fuzzyList(filter, pageable, total);
+        }
+        return page(filter, pageable, total, projectRepo::findMatching, projectRepo::findMatchingSlice);
+    }
+
+    // Mesmos filtros de listPage, mas lendo apenas as colunas de ProjectSummary
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public PageResponse<ProjectSummary> listSummaryPage(ProjectFilter filter, Pageable pageable, PageTotal total) {
+        return page(filter, pageable, total, projectRepo::findMatchingSummaries, projectRepo::findMatchingSummarySlice);
+    }
 
-        if (name != null && !name.isBlank()) {
-            String like = "%" + name.toLowerCase() + "%";
-            spec = spec.and((root, q, cb) -> cb.like(cb.lower(root.get("name")), like));
+    private <T> PageResponse<T> page(
+            ProjectFilter filter,
+            Pageable pageable,
+            PageTotal total,
+            BiFunction<ProjectFilter, Pageable, Page<T>> pageQuery,
+            BiFunction<ProjectFilter, Pageable, Slice<T>> sliceQuery
+    ) {
+        if (total == PageTotal.EXACT) {
+            return PageResponse.of(pageQuery.apply(filter, pageable));
         }
 
-        if (status != null) {
-            spec = spec.and((root, q, cb) -> cb.equal(root.get("status"), status));
+        Slice<T> slice = sliceQuery.apply(filter, pageable);
+        if (total == PageTotal.NONE) {
+            return PageResponse.of(slice);
         }
 
-        if (managerExternalId != null && !managerExternalId.isBlank()) {
-            spec = spec.and((root, q, cb) -> cb.equal(root.get("managerExternalId"), managerExternalId));
+        // Última página: o total já é conhecido sem consultar nada
+        long seen = (pageable.isPaged() ? pageable.getOffset() : 0) + slice.getNumberOfElements();
+        if (!slice.hasNext()) {
+            return PageResponse.of(slice, seen, PageTotal.EXACT);
         }
 
-        if (startDateFrom != null) {
-            spec = spec.and((root, q, cb) -> cb.greaterThanOrEqualTo(root.get("startDate"), startDateFrom));
+        // Sem estimativa (H2, tabela sem ANALYZE) ou resultado pequeno: o count exato é barato e mais confiável
+        OptionalLong estimate = countEstimator.estimate(filter);
+        if (estimate.isEmpty() || estimate.getAsLong() < listing.page().estimateExactBelow()) {
+            return PageResponse.of(slice, projectRepo.countMatching(filter), PageTotal.EXACT);
         }
-        if (startDateTo != null) {
-            spec = spec.and((root, q, cb) -> cb.lessThanOrEqualTo(root.get("startDate"), startDateTo));
+        return PageResponse.of(slice, Math.max(estimate.getAsLong(), seen + 1), PageTotal.ESTIMATED);
+    }
+
+    public ProjectSummary getSummaryById(Long id) {
+        return projectRepo.findSummaryById(id).orElseThrow(() -> new NotFoundException("Project not found"));
+    }
+
+    // FUZZY: candidatos ranqueados por similaridade, já filtrados pelos demais critérios na mesma consulta; só os
+    // projetos da página pedida são carregados, na ordem do rank. Busca um candidato além do limite para saber se
+    // a lista foi cortada: nesse caso o total (número de candidatos) é só um piso e sai como ESTIMATED, não EXACT.
+    private PageResponse<Project> fuzzyList(ProjectFilter filter, Pageable pageable, PageTotal total) {
+        int maxCandidates = listing.search().fuzzyMaxCandidates();
+        List<Long> rankedIds = projectRepo.findIdsByFuzzyName(filter.name().trim(), filter, maxCandidates + 1);
+        boolean truncated = rankedIds.size() > maxCandidates;
+        if (truncated) {
+            rankedIds = rankedIds.subList(0, maxCandidates);
         }
 
-        if (expectedEndFrom != null) {
-            spec = spec.and((root, q, cb) -> cb.greaterThanOrEqualTo(root.get("expectedEndDate"), expectedEndFrom));
+        int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), rankedIds.size());
+        List<Long> pageIds = rankedIds.subList(from, to);
+
+        Map<Long, Project> byId = new HashMap<>();
+        projectRepo.findAllById(pageIds).forEach(p -> byId.put(p.getId(), p));
+        Slice<Project> slice = new SliceImpl<>(pageIds.stream().map(byId::get).toList(), pageable, to < rankedIds.size());
+
+        if (total == PageTotal.NONE) {
+            return PageResponse.of(slice);
         }
-        if (expectedEndTo != null) {
-            spec = spec.and((root, q, cb) -> cb.lessThanOrEqualTo(root.get("expectedEndDate"), expectedEndTo));
+        return PageResponse.of(slice, rankedIds.size(), truncated ? PageTotal.ESTIMATED : PageTotal.EXACT);
+    }
+
+    // Paginação por cursor: busca size + 1 linhas para saber se há próxima página, sem count(*)
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public CursorPageResponse<Project> scroll(ProjectFilter filter, ProjectSeek seek, int size) {
+        List<Project> rows = projectRepo.findPageAfter(filter, seek, size + 1);
+
+        boolean hasNext = rows.size() > size;
+        List<Project> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            Project last = content.get(content.size() - 1);
+            nextCursor = seek.after(sortValue(last, seek.field()), last.getId()).encode();
         }
+        return new CursorPageResponse<>(content, size, nextCursor, hasNext);
+    }
 
-        return projectRepo.findAll(spec, pageable);
+    private static Object sortValue(Project p, ProjectSeek.SortField field) {
+        return switch (field) {
+            case ID -> p.getId();
+            case START_DATE -> p.getStartDate();
+            case EXPECTED_END_DATE -> p.getExpectedEndDate();
+            case TOTAL_BUDGET -> p.getTotalBudget();
+        };
     }
 
     public Project getById(Long id) {
         return projectRepo.findById(id).orElseThrow(() -> new NotFoundException("Project not found"));
     }
 
+    // Alterações de equipe e de status travam o projeto antes de ler status e membros: sem isso um cancelamento
+    // concorrente com uma alocação deixava o membro novo ocupando vaga num projeto cancelado
+    private Project getForUpdate(Long id) {
+        return projectRepo.findByIdForUpdate(id).orElseThrow(() -> new NotFoundException("Project not found"));
+    }
+
     @Transactional
     public Project update(Long id, ProjectCreateRequest dto) {
         Project p = getById(id);
+        var before = ProjectStatsSnapshot.of(p);
 
         p.setName(dto.name());
         p.setStartDate(dto.startDate());
@@ -125,23 +214,34 @@ public class ProjectService {
 
         p.setRisk(riskClassifier.classify(p.getTotalBudget(), p.getStartDate(), p.getExpectedEndDate()));
 
-        return projectRepo.save(p);
+        Project saved = projectRepo.save(p);
+        statsService.projectChanged(before, ProjectStatsSnapshot.of(p));
+        events.publishEvent(new ProjectChangedEvent(id, Type.UPDATED));
+        return saved;
     }
 
     @Transactional
     public void delete(Long id) {
-        Project p = getById(id);
+        Project p = getForUpdate(id);
         if (p.getStatus() == ProjectStatus.INICIADO
                 || p.getStatus() == ProjectStatus.EM_ANDAMENTO
                 || p.getStatus() == ProjectStatus.ENCERRADO) {
             throw new BusinessRuleException("Project cannot be deleted in current status");
         }
+        List<String> members = projectMemberRepo.findMemberIdsByProject(id);
         projectRepo.delete(p);
+        if (!CLOSED_STATUSES.contains(p.getStatus())) {
+            allocationCounters.release(members);
+        }
+        statsService.projectChanged(ProjectStatsSnapshot.of(p), null);
+        statsService.membersReleased(members);
+        events.publishEvent(new ProjectChangedEvent(id, Type.DELETED));
     }
 
     @Transactional
     public Project changeStatus(Long id, ProjectStatus newStatus, @Nullable LocalDate requestActualEndDate) {
-        Project p = getById(id);
+        Project p = getForUpdate(id);
+        var before = ProjectStatsSnapshot.of(p);
         transitionValidator.validate(p.getStatus(), newStatus);
 
         if (newStatus == ProjectStatus.ENCERRADO) {
@@ -151,8 +251,26 @@ public class ProjectService {
             p.setActualEndDate(end);
         }
 
+        updateActiveAllocations(id, p.getStatus(), newStatus);
         p.setStatus(newStatus);
-        return projectRepo.save(p);
+        Project saved = projectRepo.save(p);
+        statsService.projectChanged(before, ProjectStatsSnapshot.of(p));
+        events.publishEvent(new ProjectChangedEvent(id, Type.STATUS_CHANGED));
+        return saved;
+    }
+
+    // Entrar em ENCERRADO/CANCELADO libera a vaga dos membros; sair (se um dia permitido) volta a ocupar
+    private void updateActiveAllocations(Long projectId, ProjectStatus from, ProjectStatus to) {
+        boolean wasActive = !CLOSED_STATUSES.contains(from);
+        boolean isActive = !CLOSED_STATUSES.contains(to);
+        if (wasActive == isActive) return;
+
+        List<String> members = projectMemberRepo.findMemberIdsByProject(projectId);
+        if (isActive) {
+            allocationCounters.acquire(members);
+        } else {
+            allocationCounters.release(members);
+        }
     }
 
     @Transactional
@@ -161,15 +279,29 @@ public class ProjectService {
         return projectMemberRepo.findMemberIdsByProject(projectId);
     }
 
+    // Membros de todos os projetos informados numa única consulta (em vez de uma por projeto)
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public Map<Long, List<String>> allocatedMembersByProject(Collection<Long> projectIds) {
+        if (projectIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, List<String>> byProject = new HashMap<>();
+        for (Long id : projectIds) byProject.put(id, new ArrayList<>());
+        for (Object[] row : projectMemberRepo.findMemberIdsByProjectsRaw(projectIds)) {
+            byProject.get(((Number) row[0]).longValue()).add((String) row[1]);
+        }
+        return byProject;
+    }
+
     @Transactional
     public void allocateMembers(Long projectId, List<String> memberExternalIds) {
         if (memberExternalIds == null || memberExternalIds.isEmpty()) {
             throw new BusinessRuleException("You must provide at least one memberExternalId.");
         }
 
-        Set<String> toAllocate = new HashSet<>(memberExternalIds);
+        Set<String> toAllocate = new LinkedHashSet<>(memberExternalIds);
 
-        Project project = getById(projectId);
+        Project project = getForUpdate(projectId);
 
         if (CLOSED_STATUSES.contains(project.getStatus())) {
             throw new BusinessRuleException("Allocations are not allowed for closed/canceled projects.");
@@ -184,50 +316,186 @@ public class ProjectService {
             throw new BusinessRuleException("Project allocation limit exceeded (max=10).");
         }
 
-        for (String externalId : toAllocate) {
+        validateAllocatableMembers(toAllocate);
 
-            var maybe = memberClient.getById(externalId);
-            if (maybe.isEmpty()) {
-                throw new BusinessRuleException(
-                        "Member not found in external Members API (id=%s).".formatted(externalId));
-            }
-            var member = maybe.get();
-            if (!member.isFuncionario()) {
-                throw new BusinessRuleException(
-                        "Only members with role FUNCIONARIO can be allocated (id=%s).".formatted(externalId));
-            }
-
-            long activeCount = projectMemberRepo.countActiveProjectsForMember(externalId, CLOSED_STATUSES);
+        // Limite de projetos ativos por membro garantido pelo UPDATE condicional em member_allocation_counter
+        List<String> newMembers = toAllocate.stream().filter(id -> !currentSet.contains(id)).toList();
+        allocationCounters.acquire(newMembers);
 
-            boolean alreadyHere = currentSet.contains(externalId);
-            long effectiveActive = alreadyHere ? activeCount : activeCount + 1;
-            if (effectiveActive > 3) {
-                throw new BusinessRuleException(
-                        "Member exceeds active projects limit (max=3) (id=%s).".formatted(externalId));
-            }
+        // ProjectMember é Persistable: save é um persist e uma alocação concorrente duplicada só falha no flush,
+        // desfazendo a transação inteira (contadores incluídos)
+        for (String externalId : newMembers) {
+            projectMemberRepo.save(new ProjectMember(project, externalId));
+        }
 
-            if (!alreadyHere) {
-                var id = new ProjectMemberId(projectId, externalId);
-                if (!projectMemberRepo.existsById(id)) {
-                    try {
-                        projectMemberRepo.save(new ProjectMember(project, externalId));
-                    } catch (DataIntegrityViolationException ignore) {
+        if (finalCount < 1) {
+            throw new BusinessRuleException("Project must have at least 1 allocated member.");
+        }
 
-                    }
-                }
-            }
+        statsService.membersAllocated(newMembers);
+        if (!newMembers.isEmpty()) {
+            events.publishEvent(new ProjectChangedEvent(projectId, Type.MEMBERS_CHANGED));
+            events.publishEvent(new MembersAllocatedEvent(projectId, project.getStatus(), newMembers));
         }
+    }
 
-        if (finalCount < 1) {
+    // Substitui a equipe inteira: calcula a diferença com a atual e aplica remoções e inclusões numa transação
+    @Transactional
+    public List<String> replaceAllocations(Long projectId, List<String> memberExternalIds) {
+        Set<String> desired = memberExternalIds == null ? Set.of() : new LinkedHashSet<>(memberExternalIds);
+        if (desired.isEmpty()) {
             throw new BusinessRuleException("Project must have at least 1 allocated member.");
         }
+        if (desired.size() > 10) {
+            throw new BusinessRuleException("Project allocation limit exceeded (max=10).");
+        }
+
+        // Com o projeto travado a equipe lida é a definitiva: o resultado tem exatamente os membros de desired,
+        // então os limites 1..10 checados acima valem mesmo com alocações/remoções concorrentes
+        Project project = getForUpdate(projectId);
+        if (CLOSED_STATUSES.contains(project.getStatus())) {
+            throw new BusinessRuleException("Allocations are not allowed for closed/canceled projects.");
+        }
+
+        Set<String> current = new HashSet<>(projectMemberRepo.findMemberIdsByProject(projectId));
+        List<String> toAdd = desired.stream().filter(id -> !current.contains(id)).toList();
+        List<String> toRemove = current.stream().filter(id -> !desired.contains(id)).sorted().toList();
+        if (toAdd.isEmpty() && toRemove.isEmpty()) {
+            return List.copyOf(desired);
+        }
+
+        if (!toAdd.isEmpty()) {
+            validateAllocatableMembers(new LinkedHashSet<>(toAdd));
+        }
+
+        // Remoções e inclusões travam os contadores juntas, na mesma ordem global: trocas concorrentes
+        // de membros entre projetos (P1 remove m2/inclui m1, P2 remove m1/inclui m2) não entram em deadlock
+        Set<String> touched = new TreeSet<>(toRemove);
+        touched.addAll(toAdd);
+        allocationCounters.lock(touched);
+
+        // Libera vaga e estatística só dos membros cuja linha esta transação de fato removeu
+        List<String> removed = toRemove.stream()
+                .filter(id -> projectMemberRepo.deleteByProjectIdAndMember(projectId, id) > 0)
+                .toList();
+        if (!removed.isEmpty()) {
+            allocationCounters.release(removed);
+            statsService.membersReleased(removed);
+        }
+        if (!toAdd.isEmpty()) {
+            allocationCounters.acquire(toAdd);
+            batchRepo.insertAll(toAdd.stream().map(id -> new ProjectMemberId(projectId, id)).toList());
+            statsService.membersAllocated(toAdd);
+        }
+
+        events.publishEvent(new ProjectChangedEvent(projectId, Type.MEMBERS_CHANGED));
+        if (!toAdd.isEmpty()) {
+            events.publishEvent(new MembersAllocatedEvent(projectId, project.getStatus(), toAdd));
+        }
+        return List.copyOf(desired);
+    }
+
+    // Alocação em vários projetos numa só transação: uma consulta de projetos, uma de equipes atuais, uma chamada
+    // à Members API e um único lote JDBC. Projetos que não passam nas regras ficam FAILED sem afetar os demais.
+    @Transactional
+    public BulkAllocationResponse bulkAllocate(Map<Long, List<String>> allocations) {
+        if (allocations == null || allocations.isEmpty()) {
+            throw new BusinessRuleException("You must provide at least one project allocation.");
+        }
+
+        // Processa por id de projeto: resultado determinístico e contadores incrementados sempre na mesma ordem
+        SortedMap<Long, Set<String>> requested = new TreeMap<>();
+        allocations.forEach((id, members) ->
+                requested.put(id, members == null ? Set.of() : new LinkedHashSet<>(members)));
+
+        // Projetos travados antes de ler as equipes: o limite de 10 e o lote de inserts não concorrem com
+        // allocateMembers/replaceAllocations do mesmo projeto (que também travam a linha)
+        Map<Long, Project> projects = new HashMap<>();
+        projectRepo.findAllByIdForUpdate(requested.keySet()).forEach(p -> projects.put(p.getId(), p));
+        Map<Long, List<String>> currentByProject = allocatedMembersByProject(projects.keySet());
+
+        Map<Long, BulkAllocationResponse.ProjectResult> results = new TreeMap<>();
+        Map<Long, List<String>> pending = new LinkedHashMap<>();
+        requested.forEach((projectId, members) -> {
+            Project project = projects.get(projectId);
+            if (project == null) {
+                results.put(projectId, BulkAllocationResponse.ProjectResult.failed(projectId, "Project not found"));
+                return;
+            }
+            if (members.isEmpty()) {
+                results.put(projectId, BulkAllocationResponse.ProjectResult.failed(projectId,
+                        "You must provide at least one memberExternalId."));
+                return;
+            }
+            if (CLOSED_STATUSES.contains(project.getStatus())) {
+                results.put(projectId, BulkAllocationResponse.ProjectResult.failed(projectId,
+                        "Allocations are not allowed for closed/canceled projects."));
+                return;
+            }
+            Set<String> current = new HashSet<>(currentByProject.get(projectId));
+            List<String> newMembers = members.stream().filter(id -> !current.contains(id)).toList();
+            if (newMembers.isEmpty()) {
+                results.put(projectId, BulkAllocationResponse.ProjectResult.unchanged(projectId));
+            } else if (current.size() + newMembers.size() > 10) {
+                results.put(projectId, BulkAllocationResponse.ProjectResult.failed(projectId,
+                        "Project allocation limit exceeded (max=10)."));
+            } else {
+                pending.put(projectId, newMembers);
+            }
+        });
+
+        // Cada membro é validado uma única vez, mesmo se pedido para vários projetos
+        Set<String> candidates = new LinkedHashSet<>();
+        pending.values().forEach(candidates::addAll);
+        var members = memberClient.getByIds(candidates);
+        for (var it = pending.entrySet().iterator(); it.hasNext(); ) {
+            var entry = it.next();
+            String problem = entry.getValue().stream()
+                    .map(id -> allocationProblem(id, members.get(id)))
+                    .filter(Objects::nonNull)
+                    .findFirst()
+                    .orElse(null);
+            if (problem != null) {
+                results.put(entry.getKey(), BulkAllocationResponse.ProjectResult.failed(entry.getKey(), problem));
+                it.remove();
+            }
+        }
+
+        // Contadores travados de uma vez antes dos incrementos; o limite vale para o lote inteiro,
+        // então o segundo projeto de um membro com 2 ativos já falha
+        Set<String> toLock = new TreeSet<>();
+        pending.values().forEach(toLock::addAll);
+        allocationCounters.lock(toLock);
+
+        List<ProjectMemberId> rows = new ArrayList<>();
+        pending.forEach((projectId, newMembers) -> {
+            Optional<String> blocked = allocationCounters.tryAcquire(newMembers);
+            if (blocked.isPresent()) {
+                results.put(projectId, BulkAllocationResponse.ProjectResult.failed(projectId,
+                        MemberAllocationCounters.limitExceededMessage(blocked.get())));
+                return;
+            }
+            newMembers.forEach(id -> rows.add(new ProjectMemberId(projectId, id)));
+            results.put(projectId, BulkAllocationResponse.ProjectResult.allocated(projectId, newMembers));
+        });
+        batchRepo.insertAll(rows);
+
+        results.values().stream()
+                .filter(r -> r.outcome() == BulkAllocationResponse.Outcome.ALLOCATED)
+                .forEach(r -> {
+                    statsService.membersAllocated(r.added());
+                    events.publishEvent(new ProjectChangedEvent(r.projectId(), Type.MEMBERS_CHANGED));
+                    events.publishEvent(new MembersAllocatedEvent(
+                            r.projectId(), projects.get(r.projectId()).getStatus(), r.added()));
+                });
+        return BulkAllocationResponse.of(List.copyOf(results.values()));
     }
 
     @Transactional
     public void removeMemberAllocation(Long projectId, String memberExternalId) {
         Objects.requireNonNull(memberExternalId, "memberExternalId is required");
 
-        Project project = getById(projectId);
+        Project project = getForUpdate(projectId);
 
         if (CLOSED_STATUSES.contains(project.getStatus())) {
             throw new BusinessRuleException("Allocations are not allowed for closed/canceled projects.");
@@ -242,7 +510,13 @@ public class ProjectService {
             throw new BusinessRuleException("Project must have at least 1 allocated member.");
         }
 
-        projectMemberRepo.deleteByProjectIdAndMember(projectId, memberExternalId);
+        // Só libera a vaga se esta transação de fato removeu a alocação
+        if (projectMemberRepo.deleteByProjectIdAndMember(projectId, memberExternalId) == 0) {
+            return;
+        }
+        allocationCounters.release(List.of(memberExternalId));
+        statsService.membersReleased(List.of(memberExternalId));
+        events.publishEvent(new ProjectChangedEvent(projectId, Type.MEMBERS_CHANGED));
     }
 
     private String resolveAndValidateManagerId(String externalId) {
@@ -253,6 +527,27 @@ public class ProjectService {
         return manager.id();
     }
 
+    private void validateAllocatableMembers(Set<String> externalIds) {
+        var members = memberClient.getByIds(externalIds);
+        for (String externalId : externalIds) {
+            String problem = allocationProblem(externalId, members.get(externalId));
+            if (problem != null) {
+                throw new BusinessRuleException(problem);
+            }
+        }
+    }
+
+    @Nullable
+    private static String allocationProblem(String externalId, @Nullable ExternalMemberDTO member) {
+        if (member == null) {
+            return "Member not found in external Members API (id=%s).".formatted(externalId);
+        }
+        if (!member.isFuncionario()) {
+            return "Only members with role FUNCIONARIO can be allocated (id=%s).".formatted(externalId);
+        }
+        return null;
+    }
+
     private void validateBudget(BigDecimal totalBudget) {
         if (totalBudget == null || totalBudget.compareTo(BigDecimal.ZERO) <= 0) {
             throw new BusinessRuleException("totalBudget must be > 0");
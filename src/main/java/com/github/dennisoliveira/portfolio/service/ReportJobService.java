@@ -0,0 +1,131 @@
+package com.github.dennisoliveira.portfolio.service;
+
+import com.github.dennisoliveira.portfolio.dto.ReportJobRequest;
+import com.github.dennisoliveira.portfolio.dto.ReportJobResponse;
+import com.github.dennisoliveira.portfolio.dto.ReportJobResponse.Status;
+import com.github.dennisoliveira.portfolio.exception.BusinessRuleException;
+import com.github.dennisoliveira.portfolio.exception.NotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.ErrorResponseException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Service
+public class ReportJobService {
+
+    private static final class Job {
+        final UUID id = UUID.randomUUID();
+        final ReportJobRequest request;
+        final Instant submittedAt;
+        volatile Status status = Status.PENDING;
+        volatile Instant finishedAt;
+        volatile Object result;
+        volatile String error;
+
+        Job(ReportJobRequest request, Instant submittedAt) {
+            this.request = request;
+            this.submittedAt = submittedAt;
+        }
+
+        ReportJobResponse toResponse() {
+            return new ReportJobResponse(id, status, request, submittedAt, finishedAt, result, error);
+        }
+    }
+
+    private final PortfolioReportService reportService;
+    private final TaskExecutor executor;
+    private final Duration retention;
+    private final Clock clock;
+
+    private final Map<UUID, Job> jobs = new ConcurrentHashMap<>();
+    private final Map<ReportJobRequest, Job> running = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReportJobService(PortfolioReportService reportService,
+                            @Qualifier("reportJobExecutor") TaskExecutor executor,
+                            @Value("${portfolio.report.jobs.retention:15m}") Duration retention) {
+        this(reportService, executor, retention, Clock.systemUTC());
+    }
+
+    ReportJobService(PortfolioReportService reportService, TaskExecutor executor, Duration retention, Clock clock) {
+        this.reportService = reportService;
+        this.executor = executor;
+        this.retention = retention;
+        this.clock = clock;
+    }
+
+    // Pedidos idênticos enquanto um job está pendente/em execução recebem o mesmo job
+    public ReportJobResponse submit(ReportJobRequest request) {
+        ReportJobRequest key = request != null ? request.normalized() : ReportJobRequest.snapshot();
+        // Intervalo inválido é rejeitado na submissão, como em /portfolio/report/timeseries, em vez de virar job FAILED
+        if (key.from() != null && key.to() != null && key.to().isBefore(key.from())) {
+            throw new BusinessRuleException("to must be >= from");
+        }
+
+        // Em jobs antes de running: quem se anexar ao job já consegue consultá-lo por id
+        Job job = new Job(key, clock.instant());
+        jobs.put(job.id, job);
+        Job existing = running.putIfAbsent(key, job);
+        if (existing != null) {
+            jobs.remove(job.id);
+            return existing.toResponse();
+        }
+
+        try {
+            executor.execute(() -> run(job));
+        } catch (TaskRejectedException e) {
+            running.remove(key, job);
+            jobs.remove(job.id);
+            var pd = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Report job queue is full, try again later.");
+            throw new ErrorResponseException(HttpStatus.SERVICE_UNAVAILABLE, pd, e);
+        }
+        return job.toResponse();
+    }
+
+    public ReportJobResponse get(UUID id) {
+        Job job = jobs.get(id);
+        if (job == null) throw new NotFoundException("Report job not found");
+        return job.toResponse();
+    }
+
+    @Scheduled(fixedDelayString = "${portfolio.report.jobs.purge-interval:1m}")
+    public void purgeExpired() {
+        Instant limit = clock.instant().minus(retention);
+        jobs.values().removeIf(j -> j.finishedAt != null && j.finishedAt.isBefore(limit));
+    }
+
+    private void run(Job job) {
+        job.status = Status.RUNNING;
+        try {
+            job.result = switch (job.request.type()) {
+                case SNAPSHOT -> reportService.buildFresh();
+                case TIMESERIES -> reportService.timeseries(job.request.granularity(), job.request.dateField(),
+                        job.request.from(), job.request.to());
+            };
+            job.status = Status.DONE;
+        } catch (RuntimeException e) {
+            log.warn("Report job {} failed: {}", job.id, e.getMessage());
+            job.error = e.getMessage();
+            job.status = Status.FAILED;
+        } finally {
+            job.finishedAt = clock.instant();
+            running.remove(job.request, job);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+// project.id passa de IDENTITY para project_seq (incremento 50, otimizador pooled no Hibernate).
+// Em Java porque o valor inicial depende dos dados: H2 não tem setval e o Postgres não aceita
+// subconsulta em START WITH. O pooled usa (valor - 49 .. valor), então começar em max(id) + 50
+// faz o primeiro bloco começar logo após o maior id existente.
+public class V10__project_sequence extends BaseJavaMigration {
+
+    private static final int INCREMENT = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement st = context.getConnection().createStatement()) {
+            long maxId;
+            try (ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(id), 0) FROM project")) {
+                rs.next();
+                maxId = rs.getLong(1);
+            }
+
+            st.execute("CREATE SEQUENCE project_seq START WITH %d INCREMENT BY %d".formatted(maxId + INCREMENT, INCREMENT));
+            st.execute("ALTER TABLE project ALTER COLUMN id DROP IDENTITY");
+            // Inserts por SQL (fora do JPA) continuam recebendo id; cada nextval é um bloco que ninguém mais usa
+            st.execute("ALTER TABLE project ALTER COLUMN id SET DEFAULT nextval('project_seq')");
+        }
+    }
+}
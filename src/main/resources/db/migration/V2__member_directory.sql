@@ -0,0 +1,14 @@
+-- ===========================
+-- V2 - Local replica of the external member directory
+-- ===========================
+
+CREATE TABLE member_directory (
+  member_external_id VARCHAR(100) PRIMARY KEY,
+  name VARCHAR(150) NOT NULL,
+  role VARCHAR(30) NOT NULL,
+  source_version BIGINT NOT NULL,
+  source_updated_at TIMESTAMP NOT NULL,
+  synced_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX ix_member_directory_source_version ON member_directory (source_version);
@@ -0,0 +1,44 @@
+-- ===========================
+-- V3 - Incrementally maintained portfolio statistics
+-- ===========================
+
+-- status:<STATUS> -> item_count = projetos, amount = soma do orçamento
+-- closed_duration -> item_count = projetos ENCERRADO com data real, amount = soma dos dias
+-- distinct_members -> item_count = membros distintos alocados
+CREATE TABLE portfolio_stats (
+  stat_key VARCHAR(60) PRIMARY KEY,
+  item_count BIGINT NOT NULL DEFAULT 0,
+  amount NUMERIC(19,2) NOT NULL DEFAULT 0
+);
+
+INSERT INTO portfolio_stats (stat_key) VALUES
+  ('status:EM_ANALISE'), ('status:ANALISE_REALIZADA'), ('status:ANALISE_APROVADA'),
+  ('status:INICIADO'), ('status:PLANEJADO'), ('status:EM_ANDAMENTO'),
+  ('status:ENCERRADO'), ('status:CANCELADO'),
+  ('closed_duration'), ('distinct_members');
+
+-- Contagem de alocações por membro, usada para manter distinct_members sem COUNT(DISTINCT)
+CREATE TABLE portfolio_member_stats (
+  member_external_id VARCHAR(100) PRIMARY KEY,
+  allocations BIGINT NOT NULL
+);
+
+UPDATE portfolio_stats s
+   SET item_count = (SELECT count(*) FROM project p WHERE 'status:' || p.status = s.stat_key),
+       amount = (SELECT coalesce(sum(p.total_budget), 0) FROM project p WHERE 'status:' || p.status = s.stat_key)
+ WHERE s.stat_key LIKE 'status:%';
+
+-- cast: no H2 a diferença de datas é INTERVAL; no Postgres já é inteiro (dias)
+UPDATE portfolio_stats
+   SET item_count = (SELECT count(*) FROM project p
+                      WHERE p.status = 'ENCERRADO' AND p.actual_end_date IS NOT NULL),
+       amount = (SELECT coalesce(sum(CAST(p.actual_end_date - p.start_date AS INTEGER)), 0) FROM project p
+                  WHERE p.status = 'ENCERRADO' AND p.actual_end_date IS NOT NULL)
+ WHERE stat_key = 'closed_duration';
+
+INSERT INTO portfolio_member_stats (member_external_id, allocations)
+SELECT member_external_id, count(*) FROM project_member GROUP BY member_external_id;
+
+UPDATE portfolio_stats
+   SET item_count = (SELECT count(*) FROM portfolio_member_stats)
+ WHERE stat_key = 'distinct_members';
@@ -0,0 +1,15 @@
+-- ===========================
+-- V4 - Covering indexes for /portfolio/report/timeseries
+-- ===========================
+
+-- Todas as colunas lidas pela consulta de séries temporais estão no índice,
+-- permitindo index-only scan no Postgres mesmo com milhões de projetos
+CREATE INDEX ix_project_start_date_dims
+  ON project (start_date, status, risk, manager_external_id, total_budget);
+
+CREATE INDEX ix_project_expected_date_dims
+  ON project (expected_end_date, status, risk, manager_external_id, total_budget);
+
+-- Os índices simples por data passam a ser prefixo dos compostos
+DROP INDEX ix_project_start_date;
+DROP INDEX ix_project_expected_date;
@@ -0,0 +1,10 @@
+-- ===========================
+-- V5 - Indexes for keyset pagination on /projects/scroll
+-- ===========================
+
+-- (campo, id) segue exatamente a ordenação do keyset, inclusive o desempate por id
+CREATE INDEX ix_project_start_date_id ON project (start_date, id);
+CREATE INDEX ix_project_expected_date_id ON project (expected_end_date, id);
+CREATE INDEX ix_project_total_budget_id ON project (total_budget, id);
+
+DROP INDEX ix_project_total_budget;
@@ -0,0 +1,18 @@
+-- ===========================
+-- V7 - Composite indexes for the common /projects filter combinations
+-- ===========================
+
+-- gerente + status + período de início: o filtro mais comum das telas de gestão;
+-- também atende gerente sozinho e gerente + status (prefixos)
+CREATE INDEX ix_project_manager_status_start ON project (manager_external_id, status, start_date);
+
+-- status + período de início; também atende status sozinho
+CREATE INDEX ix_project_status_start ON project (status, start_date);
+
+-- alocações ativas por membro: o índice já entrega o project_id para o join, sem ler a tabela
+CREATE INDEX ix_pm_member_project ON project_member (member_external_id, project_id);
+
+-- Substituídos pelos compostos acima (são prefixo deles)
+DROP INDEX ix_project_manager_external;
+DROP INDEX ix_project_status;
+DROP INDEX ix_pm_member_external;
@@ -0,0 +1,18 @@
+-- ===========================
+-- V9 - Per-member active allocation counters
+-- ===========================
+
+-- active_count = projetos ativos (status fora de ENCERRADO/CANCELADO) em que o membro está alocado.
+-- O limite de 3 é aplicado por um UPDATE condicional nesta linha (lock só da linha do membro).
+CREATE TABLE member_allocation_counter (
+  member_external_id VARCHAR(100) PRIMARY KEY,
+  active_count INT NOT NULL DEFAULT 0,
+  CONSTRAINT chk_member_allocation_counter_non_negative CHECK (active_count >= 0)
+);
+
+INSERT INTO member_allocation_counter (member_external_id, active_count)
+SELECT pm.member_external_id, count(*)
+FROM project_member pm
+JOIN project p ON p.id = pm.project_id
+WHERE p.status NOT IN ('ENCERRADO', 'CANCELADO')
+GROUP BY pm.member_external_id;
@@ -0,0 +1,77 @@
+package com.github.dennisoliveira.portfolio.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberClientConfigTest {
+
+    private final MemberClientConfig config = new MemberClientConfig();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private DisposableServer server;
+    private ConnectionProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        // O Reactor Netty publica no registry global do Micrometer
+        Metrics.addRegistry(registry);
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/external/members/{id}", (req, res) ->
+                        res.header("Content-Type", "application/json")
+                                .sendString(Mono.just("{\"id\":\"" + req.param("id") + "\"}"))))
+                .bindNow();
+        provider = ConnectionProvider.create("members-config-test", 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        provider.dispose();
+        server.disposeNow();
+        Metrics.removeRegistry(registry);
+        registry.close();
+    }
+
+    @Test
+    @DisplayName("métricas do cliente usam um único valor de uri para ids diferentes, mesmo com prefixo na base-url")
+    void memberIdsShareOneUriTag() {
+        WebClient client = config.membersWebClient("http://localhost:" + server.port() + "/external",
+                Duration.ofSeconds(2), Duration.ofSeconds(5), true, false, provider);
+
+        for (String id : new String[]{"id-1", "id-2"}) {
+            client.get().uri("/members/{id}", id).retrieve().bodyToMono(String.class).block();
+        }
+
+        Set<String> uris = registry.getMeters().stream()
+                .filter(m -> m.getId().getName().startsWith("reactor.netty.http.client"))
+                // meters por requisição (os de conexão usam o protocolo como uri)
+                .filter(m -> m.getId().getTag("method") != null)
+                .map(Meter::getId)
+                .map(id -> id.getTag("uri"))
+                .collect(Collectors.toSet());
+        assertThat(uris).containsExactly("/members/{id}");
+    }
+
+    @Test
+    @DisplayName("batch-get e changes mantêm o próprio caminho como uri")
+    void fixedEndpointsKeepTheirPath() {
+        assertThat(MemberClientConfig.uriTag("/external/members/batch-get")).isEqualTo("/external/members/batch-get");
+        assertThat(MemberClientConfig.uriTag("/external/members/changes")).isEqualTo("/external/members/changes");
+        assertThat(MemberClientConfig.uriTag("/members/abc")).isEqualTo("/members/{id}");
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.dennisoliveira.portfolio.controller.mock;
+
+import com.github.dennisoliveira.portfolio.controller.mock.MockFaultInjector.FaultSettings;
+import com.github.dennisoliveira.portfolio.controller.mock.MockFaultInjector.LatencyMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MockFaultInjectorTest {
+
+    @Test
+    @DisplayName("sem falhas configuradas não altera a resposta")
+    void noFaults() {
+        var injector = new MockFaultInjector(FaultSettings.none());
+        assertThat(injector.inject()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("errorRate=1 sempre responde 503")
+    void alwaysError() {
+        var injector = new MockFaultInjector(new FaultSettings(LatencyMode.NONE, 0, 0, 0, 1.5, 1.0, 0, 0, 0));
+        assertThat(injector.inject()).hasValueSatisfying(r -> assertThat(r.getStatusCode().value()).isEqualTo(503));
+    }
+
+    @Test
+    @DisplayName("notFoundRate=1 sempre responde 404")
+    void alwaysNotFound() {
+        var injector = new MockFaultInjector(new FaultSettings(LatencyMode.NONE, 0, 0, 0, 1.5, 0, 1.0, 0, 0));
+        assertThat(injector.inject()).hasValueSatisfying(r -> assertThat(r.getStatusCode().value()).isEqualTo(404));
+    }
+
+    @Test
+    @DisplayName("latência FIXED é aplicada antes da resposta")
+    void fixedLatency() {
+        var injector = new MockFaultInjector(new FaultSettings(LatencyMode.FIXED, 50, 0, 0, 1.5, 0, 0, 0, 0));
+        long start = System.nanoTime();
+        injector.inject();
+        assertThat((System.nanoTime() - start) / 1_000_000).isGreaterThanOrEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("seed gera N membros por role")
+    void seedSynthetic() {
+        var mock = new ExternalMemberMockController(new MockFaultInjector(FaultSettings.none()));
+        var created = mock.seedSynthetic(5);
+        assertThat(created).containsEntry(ExternalMemberMockController.ExternalRole.FUNCIONARIO, 5)
+                .containsEntry(ExternalMemberMockController.ExternalRole.GERENTE, 5);
+    }
+}
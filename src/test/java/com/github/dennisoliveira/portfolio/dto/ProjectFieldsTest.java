@@ -0,0 +1,53 @@
+package com.github.dennisoliveira.portfolio.dto;
+
+import com.github.dennisoliveira.portfolio.domain.ProjectStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProjectFieldsTest {
+
+    private final ProjectResponse response = new ProjectResponse(7L, "Projeto X", LocalDate.of(2025, 1, 1),
+            LocalDate.of(2025, 3, 1), null, new BigDecimal("1000"), "texto longo", "mgr-1",
+            ProjectStatus.EM_ANALISE, "BAIXO", null);
+
+    @Test
+    @DisplayName("seleciona apenas os campos pedidos, na ordem do DTO")
+    void selectsRequestedFields() {
+        var selected = ProjectFields.parse("status, id,name");
+
+        assertThat(ProjectFields.select(response, selected))
+                .containsExactly(
+                        Map.entry("id", 7L),
+                        Map.entry("name", "Projeto X"),
+                        Map.entry("status", ProjectStatus.EM_ANALISE));
+        assertThat(ProjectFields.includes(selected, "description")).isFalse();
+    }
+
+    @Test
+    @DisplayName("sem fields retorna todos; campo desconhecido é rejeitado")
+    void parseRules() {
+        assertThat(ProjectFields.parse(null)).isNull();
+        assertThat(ProjectFields.parse(" ")).isNull();
+        assertThat(ProjectFields.includes(null, "description")).isTrue();
+        assertThatThrownBy(() -> ProjectFields.parse("id,password"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("password");
+    }
+
+    @Test
+    @DisplayName("include aceita members sem diferenciar maiúsculas e rejeita valores desconhecidos")
+    void includeRules() {
+        assertThat(ProjectInclude.parse(null)).isEmpty();
+        assertThat(ProjectInclude.parse("Members, ")).containsExactly(ProjectInclude.MEMBERS);
+        assertThatThrownBy(() -> ProjectInclude.parse("members,owner"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("owner");
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.dennisoliveira.portfolio.integration.members;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberCacheTest {
+
+    private final MemberCache cache = new MemberCache(100, Duration.ofMinutes(10), Duration.ofSeconds(30),
+            1000, Duration.ofHours(1), new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("Deve chamar o loader apenas uma vez para o mesmo id (hit após miss)")
+    void shouldLoadOnce_andCountHitsAndMisses() {
+        var calls = new AtomicInteger();
+        var member = new ExternalMemberDTO("m1", "Ana", "FUNCIONARIO");
+
+        cache.get("m1", id -> { calls.incrementAndGet(); return CompletableFuture.completedFuture(Optional.of(member)); });
+        var second = cache.get("m1", id -> { calls.incrementAndGet(); return CompletableFuture.completedFuture(Optional.<ExternalMemberDTO>empty()); }).join();
+
+        assertThat(second).contains(member);
+        assertThat(calls).hasValue(1);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve cachear também o resultado 'não encontrado' (negative caching)")
+    void shouldCacheNotFound() {
+        var calls = new AtomicInteger();
+
+        cache.get("missing", id -> { calls.incrementAndGet(); return CompletableFuture.completedFuture(Optional.<ExternalMemberDTO>empty()); });
+        var again = cache.get("missing", id -> { calls.incrementAndGet(); return CompletableFuture.completedFuture(Optional.<ExternalMemberDTO>empty()); }).join();
+
+        assertThat(again).isEmpty();
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Invalidação por id e global devem forçar nova consulta")
+    void invalidate_shouldForceReload() {
+        var calls = new AtomicInteger();
+        var member = new ExternalMemberDTO("m2", "Bruno", "FUNCIONARIO");
+
+        cache.get("m2", id -> { calls.incrementAndGet(); return CompletableFuture.completedFuture(Optional.of(member)); });
+        cache.invalidate("m2");
+        cache.get("m2", id -> { calls.incrementAndGet(); return CompletableFuture.completedFuture(Optional.of(member)); });
+        cache.invalidateAll();
+        cache.get("m2", id -> { calls.incrementAndGet(); return CompletableFuture.completedFuture(Optional.of(member)); });
+
+        assertThat(calls).hasValue(3);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Chamadas concorrentes para o mesmo id aguardam a consulta em andamento")
+    void concurrentGets_shouldShareInFlightLoad() {
+        var calls = new AtomicInteger();
+        var pending = new CompletableFuture<Optional<ExternalMemberDTO>>();
+
+        var first = cache.get("m3", id -> { calls.incrementAndGet(); return pending; });
+        var second = cache.get("m3", id -> { calls.incrementAndGet(); return CompletableFuture.completedFuture(Optional.<ExternalMemberDTO>empty()); });
+        assertThat(cache.isLoading("m3")).isTrue();
+
+        var member = new ExternalMemberDTO("m3", "Caio", "FUNCIONARIO");
+        pending.complete(Optional.of(member));
+
+        assertThat(second.join()).contains(member);
+        assertThat(first).isSameAs(second);
+        assertThat(calls).hasValue(1);
+        assertThat(cache.isLoading("m3")).isFalse();
+    }
+}
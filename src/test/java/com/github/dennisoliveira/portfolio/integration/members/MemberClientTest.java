@@ -0,0 +1,281 @@
+package com.github.dennisoliveira.portfolio.integration.members;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.dennisoliveira.portfolio.controller.mock.ExternalMemberMockController;
+import com.github.dennisoliveira.portfolio.controller.mock.ExternalMemberMockController.BatchGetRequest;
+import com.github.dennisoliveira.portfolio.controller.mock.ExternalMemberMockController.CreateMemberRequest;
+import com.github.dennisoliveira.portfolio.controller.mock.MockFaultInjector;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class MemberClientTest {
+
+    private static final Duration LATENCY = Duration.ofMillis(300);
+
+    private final ExternalMemberMockController mock = new ExternalMemberMockController(
+            new MockFaultInjector(MockFaultInjector.FaultSettings.none()));
+    private final ObjectMapper json = new ObjectMapper();
+    private final List<String> employees = new ArrayList<>();
+    private final AtomicInteger remoteCalls = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private String managerId;
+    private final CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("members");
+    private final MemberDirectory directory = mock(MemberDirectory.class);
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 5; i++) {
+            employees.add(createMember("Employee " + i, "FUNCIONARIO"));
+        }
+        managerId = createMember("Manager", "GERENTE");
+    }
+
+    @Test
+    @DisplayName("PARALLEL: latência total deve ser ≈ máximo das chamadas e não a soma")
+    void parallelLookup_shouldTakeMaxLatency_notSum() {
+        var client = newClient(MemberLookupMode.PARALLEL);
+        client.getById(managerId); // aquecimento (Reactor/Jackson), fora da medição
+
+        long start = System.nanoTime();
+        var found = client.getByIds(employees);
+        var elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(found).containsOnlyKeys(employees);
+        assertThat(elapsed).isLessThan(LATENCY.multipliedBy(employees.size()).dividedBy(2));
+    }
+
+    @Test
+    @DisplayName("PARALLEL: ids inexistentes ficam fora do resultado e papéis são preservados")
+    void parallelLookup_shouldOmitMissing_andKeepRoles() {
+        var client = newClient(MemberLookupMode.PARALLEL);
+
+        var found = client.getByIds(List.of(employees.get(0), managerId, "missing"));
+
+        assertThat(found).containsOnlyKeys(employees.get(0), managerId);
+        assertThat(found.get(employees.get(0)).isFuncionario()).isTrue();
+        assertThat(found.get(managerId).isGerente()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Consultas concorrentes aos mesmos ids devem compartilhar a chamada em andamento")
+    void concurrentLookups_shouldBeCoalesced() throws Exception {
+        var client = newClient(MemberLookupMode.PARALLEL);
+        var go = new CountDownLatch(1);
+
+        var first = CompletableFuture.supplyAsync(() -> { await(go); return client.getByIds(employees); });
+        var second = CompletableFuture.supplyAsync(() -> { await(go); return client.getByIds(employees); });
+        go.countDown();
+
+        assertThat(first.get()).containsOnlyKeys(employees);
+        assertThat(second.get()).containsOnlyKeys(employees);
+        assertThat(remoteCalls.get()).isLessThan(employees.size() * 2);
+        assertThat(meterRegistry.counter("members.client.coalesced").count())
+                .isEqualTo(employees.size() * 2 - remoteCalls.get());
+    }
+
+    @Test
+    @DisplayName("getById concorrente para o mesmo id (validação de gerente) faz uma única chamada à Members API")
+    void concurrentGetById_shouldBeCoalesced() throws Exception {
+        var client = newClient(MemberLookupMode.BATCH);
+        var go = new CountDownLatch(1);
+        var pool = Executors.newFixedThreadPool(4);
+
+        List<CompletableFuture<Optional<ExternalMemberDTO>>> calls = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            calls.add(CompletableFuture.supplyAsync(() -> { await(go); return client.getById(managerId); }, pool));
+        }
+        go.countDown();
+        pool.shutdown();
+
+        for (var call : calls) {
+            assertThat(call.get().orElseThrow().isGerente()).isTrue();
+        }
+        assertThat(remoteCalls.get()).isEqualTo(1);
+        assertThat(meterRegistry.counter("members.client.coalesced").count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("BATCH: lotes concorrentes com os mesmos ids compartilham a requisição em andamento")
+    void concurrentBatchLookups_shouldBeCoalesced() throws Exception {
+        var requestSizes = new CopyOnWriteArrayList<Integer>();
+        var client = newBatchClient(requestSizes);
+        var go = new CountDownLatch(1);
+        var pool = Executors.newFixedThreadPool(2);
+
+        var first = CompletableFuture.supplyAsync(() -> { await(go); return client.getByIds(employees); }, pool);
+        var second = CompletableFuture.supplyAsync(() -> { await(go); return client.getByIds(employees); }, pool);
+        go.countDown();
+        pool.shutdown();
+
+        assertThat(first.get()).containsOnlyKeys(employees);
+        assertThat(second.get()).containsOnlyKeys(employees);
+        // O Caffeine reserva as chaves uma a uma: os dois lotes podem dividir os ids entre si, mas cada id é buscado uma vez
+        assertThat(requestSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(employees.size());
+        assertThat(meterRegistry.counter("members.client.coalesced").count()).isEqualTo(employees.size());
+    }
+
+    @Test
+    @DisplayName("Circuito aberto: deve servir o último registro conhecido e falhar para ids nunca vistos")
+    void openCircuit_shouldServeLastKnownRecord() {
+        var client = newClient(MemberLookupMode.BATCH);
+        var known = client.getById(employees.get(0));
+        int callsBefore = remoteCalls.get();
+
+        circuitBreaker.transitionToForcedOpenState();
+        var cacheMissButKnown = new MemberClient(
+                WebClient.builder().exchangeFunction(r -> Mono.error(new IllegalStateException("no call expected"))).build(),
+                lastKnownOnlyCache(known.orElseThrow()), directory, MemberLookupMode.BATCH, 8,
+                circuitBreaker, Bulkhead.ofDefaults("members"), meterRegistry);
+
+        assertThat(cacheMissButKnown.getById(employees.get(0))).isEqualTo(known);
+        assertThat(cacheMissButKnown.getByIds(List.of(employees.get(0)))).containsOnlyKeys(employees.get(0));
+        assertThatThrownBy(() -> cacheMissButKnown.getById(managerId))
+                .isInstanceOf(ExternalServiceException.class);
+        assertThat(remoteCalls.get()).isEqualTo(callsBefore);
+        assertThat(meterRegistry.counter("members.client.rejected", "reason", "circuit_open").count()).isEqualTo(3);
+        assertThat(meterRegistry.counter("members.client.stale.served").count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("BATCH: alocação em lote com mais de 100 membros não cacheados é dividida em requisições de até 100 ids")
+    void batchLookup_shouldSplitIntoRequestsOfAtMost100Ids() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 230; i++) {
+            ids.add(createMember("Bulk " + i, "FUNCIONARIO"));
+        }
+        List<Integer> requestSizes = new CopyOnWriteArrayList<>();
+        var client = newBatchClient(requestSizes);
+
+        var found = client.getByIds(ids);
+
+        assertThat(found).containsOnlyKeys(ids);
+        assertThat(requestSizes).hasSize(3).allSatisfy(size -> assertThat(size).isLessThanOrEqualTo(100));
+        assertThat(requestSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(ids.size());
+    }
+
+    private MemberCache lastKnownOnlyCache(ExternalMemberDTO member) {
+        var cache = new MemberCache(100, Duration.ofMinutes(1), Duration.ofSeconds(1),
+                100, Duration.ofHours(1), meterRegistry);
+        cache.remember(member);
+        return cache;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String createMember(String name, String role) {
+        var created = (ExternalMemberMockController.ExternalMemberDTO)
+                mock.create(new CreateMemberRequest(name, role)).getBody();
+        return created.id();
+    }
+
+    // Despacha as requisições do WebClient direto para o mock, com latência injetada
+    private MemberClient newClient(MemberLookupMode mode) {
+        var webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    remoteCalls.incrementAndGet();
+                    String path = request.url().getPath();
+                    String id = path.substring(path.lastIndexOf('/') + 1);
+                    var resp = mock.get(id);
+                    return Mono.delay(LATENCY).map(tick -> toClientResponse(resp.getStatusCode().value(), resp.getBody()));
+                })
+                .build();
+        var cache = new MemberCache(100, Duration.ofMinutes(1), Duration.ofSeconds(1),
+                100, Duration.ofHours(1), meterRegistry);
+        return new MemberClient(webClient, cache, directory, mode, 8, circuitBreaker, Bulkhead.ofDefaults("members"), meterRegistry);
+    }
+
+    // Despacha POST /members/batch-get para o mock, recusando (400) lotes acima do limite da Members API
+    private MemberClient newBatchClient(List<Integer> requestSizes) {
+        var strategies = ExchangeStrategies.withDefaults();
+        var webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    remoteCalls.incrementAndGet();
+                    var captured = new MockClientHttpRequest(request.method(), request.url());
+                    return request.body().insert(captured, new BodyInserter.Context() {
+                                @Override
+                                public List<HttpMessageWriter<?>> messageWriters() {
+                                    return strategies.messageWriters();
+                                }
+
+                                @Override
+                                public Optional<ServerHttpRequest> serverRequest() {
+                                    return Optional.empty();
+                                }
+
+                                @Override
+                                public Map<String, Object> hints() {
+                                    return Map.of();
+                                }
+                            })
+                            .then(Mono.defer(captured::getBodyAsString))
+                            .delayElement(LATENCY)
+                            .map(body -> {
+                                var req = readBatchRequest(body);
+                                requestSizes.add(req.ids().size());
+                                if (req.ids().size() > 100) {
+                                    return toClientResponse(400, "ids: size must be between 0 and 100");
+                                }
+                                return toClientResponse(200, mock.batchGet(req).getBody());
+                            });
+                })
+                .build();
+        var cache = new MemberCache(1000, Duration.ofMinutes(1), Duration.ofSeconds(1),
+                1000, Duration.ofHours(1), meterRegistry);
+        return new MemberClient(webClient, cache, directory, MemberLookupMode.BATCH, 8,
+                circuitBreaker, Bulkhead.ofDefaults("members"), meterRegistry);
+    }
+
+    private BatchGetRequest readBatchRequest(String body) {
+        try {
+            return json.readValue(body, BatchGetRequest.class);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ClientResponse toClientResponse(int status, Object body) {
+        try {
+            var builder = ClientResponse.create(HttpStatus.valueOf(status))
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+            return body == null ? builder.build() : builder.body(json.writeValueAsString(body)).build();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.dennisoliveira.portfolio.integration.members;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MemberDirectorySynchronizerTest {
+
+    @Mock MemberClient memberClient;
+    @Mock MemberDirectory directory;
+
+    @Test
+    @DisplayName("sync: deve paginar a partir da última versão replicada até esgotar as alterações")
+    void sync_shouldPageFromLastReplicatedVersion() {
+        var synchronizer = new MemberDirectorySynchronizer(memberClient, directory, true, 2);
+
+        var page1 = List.of(change("m1", 11), change("m2", 12));
+        var page2 = List.of(change("m3", 13));
+
+        when(directory.lastVersion()).thenReturn(10L);
+        when(memberClient.listChanges(10L, 2)).thenReturn(page1);
+        when(memberClient.listChanges(12L, 2)).thenReturn(page2);
+        when(directory.apply(page1)).thenReturn(2);
+        when(directory.apply(page2)).thenReturn(1);
+
+        assertThat(synchronizer.sync()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("sync: não deve gravar nada quando não houver alterações")
+    void sync_shouldDoNothing_whenNoChanges() {
+        var synchronizer = new MemberDirectorySynchronizer(memberClient, directory, true, 500);
+
+        when(directory.lastVersion()).thenReturn(0L);
+        when(memberClient.listChanges(0L, 500)).thenReturn(List.of());
+
+        assertThat(synchronizer.sync()).isZero();
+        verify(directory, never()).apply(anyList());
+    }
+
+    private static ExternalMemberChangeDTO change(String id, long version) {
+        return new ExternalMemberChangeDTO(id, "Nome-" + id, "FUNCIONARIO", version, Instant.parse("2025-01-01T00:00:00Z"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.dennisoliveira.portfolio.repository;
+
+import com.github.dennisoliveira.portfolio.domain.Project;
+import com.github.dennisoliveira.portfolio.domain.ProjectStatus;
+import com.github.dennisoliveira.portfolio.domain.Risk;
+import com.github.dennisoliveira.portfolio.dto.PortfolioTimeseriesResponse.Bucket;
+import com.github.dennisoliveira.portfolio.dto.PortfolioTimeseriesResponse.DateField;
+import com.github.dennisoliveira.portfolio.dto.PortfolioTimeseriesResponse.Dimension;
+import com.github.dennisoliveira.portfolio.dto.PortfolioTimeseriesResponse.Granularity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class PortfolioAnalyticsRepositoryTest {
+
+    private static final LocalDate FROM = LocalDate.of(1990, 1, 1);
+    private static final LocalDate TO = LocalDate.of(1990, 12, 31);
+
+    @Autowired PortfolioAnalyticsRepository analyticsRepo;
+    @Autowired ProjectRepository projectRepo;
+
+    @BeforeEach
+    void setUp() {
+        save(LocalDate.of(1990, 1, 10), ProjectStatus.EM_ANALISE, Risk.BAIXO, "mgr-1", "100.00");
+        save(LocalDate.of(1990, 2, 20), ProjectStatus.EM_ANALISE, Risk.ALTO, "mgr-1", "200.00");
+        save(LocalDate.of(1990, 3, 5), ProjectStatus.INICIADO, Risk.BAIXO, "mgr-2", "50.00");
+    }
+
+    @Test
+    @DisplayName("timeseries por trimestre agrega status, risco e gerente no mesmo bucket")
+    void quarterBuckets() {
+        List<Bucket> buckets = analyticsRepo.timeseries(Granularity.QUARTER, DateField.START_DATE, FROM, TO);
+
+        assertThat(buckets).allMatch(b -> b.bucket().equals(LocalDate.of(1990, 1, 1)));
+        assertThat(find(buckets, Dimension.STATUS, "EM_ANALISE").projects()).isEqualTo(2);
+        assertThat(find(buckets, Dimension.STATUS, "EM_ANALISE").totalBudget()).isEqualByComparingTo("300.00");
+        assertThat(find(buckets, Dimension.RISK, "BAIXO").projects()).isEqualTo(2);
+        assertThat(find(buckets, Dimension.MANAGER, "mgr-2").totalBudget()).isEqualByComparingTo("50.00");
+        assertThat(buckets).hasSize(6);
+    }
+
+    @Test
+    @DisplayName("timeseries por mês calcula o acumulado por chave")
+    void monthlyCumulative() {
+        List<Bucket> buckets = analyticsRepo.timeseries(Granularity.MONTH, DateField.START_DATE, FROM, TO);
+
+        var mgr1 = buckets.stream()
+                .filter(b -> b.dimension() == Dimension.MANAGER && b.key().equals("mgr-1"))
+                .toList();
+        assertThat(mgr1).extracting(Bucket::bucket)
+                .containsExactly(LocalDate.of(1990, 1, 1), LocalDate.of(1990, 2, 1));
+        assertThat(mgr1).extracting(Bucket::cumulativeProjects).containsExactly(1L, 2L);
+    }
+
+    private static Bucket find(List<Bucket> buckets, Dimension dimension, String key) {
+        return buckets.stream()
+                .filter(b -> b.dimension() == dimension && b.key().equals(key))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private void save(LocalDate start, ProjectStatus status, Risk risk, String manager, String budget) {
+        projectRepo.saveAndFlush(Project.builder()
+                .name("P " + start)
+                .startDate(start)
+                .expectedEndDate(start.plusMonths(6))
+                .totalBudget(new BigDecimal(budget))
+                .managerExternalId(manager)
+                .status(status)
+                .risk(risk)
+                .build());
+    }
+}
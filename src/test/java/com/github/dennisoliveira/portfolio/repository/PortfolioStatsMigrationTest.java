@@ -0,0 +1,57 @@
+package com.github.dennisoliveira.portfolio.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// V3 sobre uma base que já tem projetos: os contadores saem semeados, sem esperar o PortfolioStatsReconciler
+class PortfolioStatsMigrationTest {
+
+    private final DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:stats_migration;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+    private final JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+    @Test
+    @DisplayName("V3 semeia closed_duration com projetos já encerrados")
+    void seedsClosedDurationFromExistingProjects() {
+        migrate("2");
+        insert("ENCERRADO", "2020-01-01", "2020-01-11");
+        insert("ENCERRADO", "2020-03-01", "2020-03-05");
+        insert("ENCERRADO", "2020-05-01", null);
+        insert("EM_ANDAMENTO", "2020-06-01", null);
+
+        migrate("3");
+
+        Map<String, Object> closed = jdbc.queryForMap(
+                "SELECT item_count, amount FROM portfolio_stats WHERE stat_key = 'closed_duration'");
+        assertThat(((Number) closed.get("item_count")).longValue()).isEqualTo(2);
+        assertThat((BigDecimal) closed.get("amount")).isEqualByComparingTo("14");
+        assertThat(jdbc.queryForObject(
+                "SELECT item_count FROM portfolio_stats WHERE stat_key = 'status:ENCERRADO'", Long.class))
+                .isEqualTo(3);
+    }
+
+    private void migrate(String target) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .target(target)
+                .load()
+                .migrate();
+    }
+
+    private void insert(String status, String start, String actualEnd) {
+        jdbc.update("""
+                INSERT INTO project (name, start_date, expected_end_date, actual_end_date, total_budget,
+                                     manager_external_id, status, risk)
+                VALUES ('Legado', CAST(? AS DATE), CAST(? AS DATE), CAST(? AS DATE), 100, 'mgr-legacy', ?, 'BAIXO')
+                """, start, "2021-01-01", actualEnd, status);
+    }
+}
@@ -0,0 +1,99 @@
+package com.github.dennisoliveira.portfolio.repository;
+
+import com.github.dennisoliveira.portfolio.domain.Project;
+import com.github.dennisoliveira.portfolio.domain.ProjectStatus;
+import com.github.dennisoliveira.portfolio.domain.Risk;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Inserção em massa pelo JPA: com project_seq (pooled, blocos de 50) o Hibernate não precisa do id gerado
+// a cada INSERT e agrupa as linhas em lotes JDBC (hibernate.jdbc.batch_size).
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+class ProjectBulkInsertTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectBulkInsertTest.class);
+
+    private static final int ROWS = 1000;
+    private static final int BATCH = 50;
+    private static final int ROUNDS = 5;
+
+    @Autowired ProjectRepository projectRepo;
+    @Autowired EntityManager em;
+    @Autowired EntityManagerFactory emf;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("inserção em massa prepara um INSERT por lote e busca ids em blocos, não um por linha")
+    void bulkInsertIsBatched() {
+        statistics.clear();
+
+        List<Project> saved = insert(ROWS);
+
+        assertThat(saved).allSatisfy(p -> assertThat(p.getId()).isNotNull());
+        assertThat(saved.stream().map(Project::getId).distinct()).hasSize(ROWS);
+        // ROWS/BATCH lotes de INSERT + ROWS/BATCH chamadas à sequence (+1 se o bloco atual já estava em uso)
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2L * ROWS / BATCH + 1);
+    }
+
+    @Test
+    @DisplayName("benchmark: vazão de inserção em massa de projetos")
+    void bulkInsertThroughput() {
+        insert(ROWS); // aquecimento (JIT, planos do H2), fora da medição
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            insert(ROWS);
+        }
+        var elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        long rowsPerSecond = ROWS * ROUNDS * 1_000_000_000L / Math.max(1, elapsed.toNanos());
+        log.info("Bulk insert: {} rows in {} ms ({} rows/s)", ROWS * ROUNDS, elapsed.toMillis(), rowsPerSecond);
+        assertThat(projectRepo.count()).isGreaterThanOrEqualTo((long) ROWS * (ROUNDS + 1));
+    }
+
+    private List<Project> insert(int rows) {
+        List<Project> saved = projectRepo.saveAll(IntStream.range(0, rows).mapToObj(this::project).toList());
+        em.flush();
+        em.clear();
+        return saved;
+    }
+
+    private Project project(int i) {
+        return Project.builder()
+                .name("Bulk " + i)
+                .startDate(LocalDate.of(2040, 1, 1).plusDays(i % 365))
+                .expectedEndDate(LocalDate.of(2041, 1, 1))
+                .totalBudget(new BigDecimal("1000.00"))
+                .managerExternalId("mgr-bulk-" + (i % 20))
+                .status(ProjectStatus.EM_ANALISE)
+                .risk(Risk.BAIXO)
+                .build();
+    }
+}
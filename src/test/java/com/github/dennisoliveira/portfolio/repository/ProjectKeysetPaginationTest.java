@@ -0,0 +1,119 @@
+package com.github.dennisoliveira.portfolio.repository;
+
+import com.github.dennisoliveira.portfolio.domain.Project;
+import com.github.dennisoliveira.portfolio.domain.ProjectStatus;
+import com.github.dennisoliveira.portfolio.domain.Risk;
+import com.github.dennisoliveira.portfolio.dto.ProjectFilter;
+import com.github.dennisoliveira.portfolio.repository.ProjectSeek.SortField;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ProjectKeysetPaginationTest {
+
+    private static final String MANAGER = "mgr-keyset";
+    private static final ProjectFilter BY_MANAGER = new ProjectFilter(null, null, MANAGER, null, null, null, null);
+
+    @Autowired ProjectRepository projectRepo;
+
+    @Test
+    @DisplayName("percorre todas as páginas por cursor sem repetir nem pular projetos com datas empatadas")
+    void walksAllPagesWithTies() {
+        LocalDate d1 = LocalDate.of(2030, 1, 1);
+        LocalDate d2 = LocalDate.of(2030, 2, 1);
+        List<Long> expected = new ArrayList<>();
+        // desc por startDate, desempate por id desc
+        List<Project> saved = List.of(save(d1), save(d2), save(d1), save(d2), save(d1));
+        saved.stream()
+                .sorted((a, b) -> a.getStartDate().equals(b.getStartDate())
+                        ? Long.compare(b.getId(), a.getId())
+                        : b.getStartDate().compareTo(a.getStartDate()))
+                .forEach(p -> expected.add(p.getId()));
+
+        ProjectSeek seek = ProjectSeek.first(SortField.START_DATE, Sort.Direction.DESC);
+        List<Long> visited = new ArrayList<>();
+
+        while (true) {
+            List<Project> page = projectRepo.findPageAfter(BY_MANAGER, seek, 2);
+            page.forEach(p -> visited.add(p.getId()));
+            if (page.size() < 2) break;
+            Project last = page.get(page.size() - 1);
+            // ida e volta pelo cursor opaco, como faria o cliente
+            seek = ProjectSeek.decode(seek.after(last.getStartDate(), last.getId()).encode());
+        }
+
+        assertThat(visited).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("projeção de listagem traz as colunas do resumo e respeita filtro, ordenação e total")
+    void summariesProjection() {
+        LocalDate d1 = LocalDate.of(2030, 1, 1);
+        Project first = save(d1);
+        save(d1.plusDays(1));
+
+        var page = projectRepo.findMatchingSummaries(BY_MANAGER,
+                PageRequest.of(0, 1, Sort.by("startDate")));
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).singleElement().satisfies(s -> {
+            assertThat(s.id()).isEqualTo(first.getId());
+            assertThat(s.name()).isEqualTo(first.getName());
+            assertThat(s.status()).isEqualTo(ProjectStatus.EM_ANALISE);
+        });
+        assertThat(projectRepo.findSummaryById(first.getId())).isPresent();
+    }
+
+    @Test
+    @DisplayName("slice busca uma linha a mais para indicar a próxima página, sem total")
+    void sliceDetectsNextPage() {
+        LocalDate d1 = LocalDate.of(2030, 1, 1);
+        save(d1);
+        save(d1.plusDays(1));
+        save(d1.plusDays(2));
+
+        var first = projectRepo.findMatchingSummarySlice(BY_MANAGER, PageRequest.of(0, 2, Sort.by("startDate")));
+        var last = projectRepo.findMatchingSlice(BY_MANAGER, PageRequest.of(1, 2, Sort.by("startDate")));
+
+        assertThat(first.getContent()).hasSize(2);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(last.getContent()).singleElement()
+                .satisfies(p -> assertThat(p.getStartDate()).isEqualTo(d1.plusDays(2)));
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("cursor inválido é rejeitado")
+    void invalidCursor() {
+        assertThatThrownBy(() -> ProjectSeek.decode("not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Project save(LocalDate start) {
+        return projectRepo.saveAndFlush(Project.builder()
+                .name("Keyset " + start)
+                .startDate(start)
+                .expectedEndDate(start.plusMonths(1))
+                .totalBudget(new BigDecimal("100.00"))
+                .managerExternalId(MANAGER)
+                .status(ProjectStatus.EM_ANALISE)
+                .risk(Risk.BAIXO)
+                .build());
+    }
+}
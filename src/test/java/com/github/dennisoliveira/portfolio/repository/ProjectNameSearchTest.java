@@ -0,0 +1,90 @@
+package com.github.dennisoliveira.portfolio.repository;
+
+import com.github.dennisoliveira.portfolio.domain.Project;
+import com.github.dennisoliveira.portfolio.domain.ProjectStatus;
+import com.github.dennisoliveira.portfolio.domain.Risk;
+import com.github.dennisoliveira.portfolio.dto.NameMatch;
+import com.github.dennisoliveira.portfolio.dto.PageTotal;
+import com.github.dennisoliveira.portfolio.dto.ProjectFilter;
+import com.github.dennisoliveira.portfolio.service.ProjectService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ProjectNameSearchTest {
+
+    @Autowired ProjectRepository projectRepo;
+    @Autowired ProjectService projectService;
+
+    @BeforeEach
+    void setUp() {
+        save("Zeta migração do ERP");
+        save("ERP");
+        save("Portal 100% digital");
+        save("Portal 1000 digital");
+    }
+
+    @Test
+    @DisplayName("FUZZY ranqueia pela posição do termo e pelo tamanho do nome (fallback H2)")
+    void fuzzyRanking() {
+        var page = projectService.listPage(filter("erp"), NameMatch.FUZZY, PageRequest.of(0, 10), PageTotal.EXACT);
+
+        assertThat(page.content()).extracting(Project::getName)
+                .containsExactly("ERP", "Zeta migração do ERP");
+    }
+
+    @Test
+    @DisplayName("FUZZY aplica os demais filtros na própria consulta ranqueada e trata % como literal")
+    void fuzzyAppliesOtherFilters() {
+        save("ERP legado", ProjectStatus.CANCELADO);
+
+        var cancelled = new ProjectFilter("erp", ProjectStatus.CANCELADO, "mgr-search", null, null, null, null);
+        var page = projectService.listPage(cancelled, NameMatch.FUZZY, PageRequest.of(0, 10), PageTotal.EXACT);
+        assertThat(page.content()).extracting(Project::getName).containsExactly("ERP legado");
+
+        var literal = projectService.listPage(filter("100%"), NameMatch.FUZZY, PageRequest.of(0, 10), PageTotal.EXACT);
+        assertThat(literal.content()).extracting(Project::getName).containsExactly("Portal 100% digital");
+    }
+
+    @Test
+    @DisplayName("CONTAINS trata % e _ do termo como caracteres literais")
+    void containsEscapesWildcards() {
+        var page = projectService.listPage(filter("100%"), NameMatch.CONTAINS, PageRequest.of(0, 10), PageTotal.EXACT);
+
+        assertThat(page.content()).extracting(Project::getName).containsExactly("Portal 100% digital");
+    }
+
+    private static ProjectFilter filter(String name) {
+        return new ProjectFilter(name, null, null, null, null, null, null);
+    }
+
+    private void save(String name) {
+        save(name, ProjectStatus.EM_ANALISE);
+    }
+
+    private void save(String name, ProjectStatus status) {
+        LocalDate start = LocalDate.of(2031, 1, 1);
+        projectRepo.saveAndFlush(Project.builder()
+                .name(name)
+                .startDate(start)
+                .expectedEndDate(start.plusMonths(1))
+                .totalBudget(new BigDecimal("100.00"))
+                .managerExternalId("mgr-search")
+                .status(status)
+                .risk(Risk.BAIXO)
+                .build());
+    }
+}
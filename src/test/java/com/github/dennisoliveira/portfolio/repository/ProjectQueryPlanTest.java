@@ -0,0 +1,171 @@
+package com.github.dennisoliveira.portfolio.repository;
+
+import com.github.dennisoliveira.portfolio.config.DatabasePlatform;
+import com.github.dennisoliveira.portfolio.domain.ProjectStatus;
+import com.github.dennisoliveira.portfolio.dto.ProjectFilter;
+import com.github.dennisoliveira.portfolio.repository.ProjectSeek.SortField;
+import com.github.dennisoliveira.portfolio.repository.StatementRecorder.Recorded;
+import com.github.dennisoliveira.portfolio.service.ProjectService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Regressão de plano: cada forma de consulta suportada precisa usar índice sobre uma base semeada. As consultas
+// são as que a aplicação envia de fato (gravadas pelo StatementRecorder), não cópias escritas à mão.
+// No H2 (perfil de teste) a varredura completa aparece como ".tableScan"; no Postgres, como "Seq Scan".
+// Sem @Transactional: ANALYZE faz commit no H2, então a base é semeada uma vez e removida ao final.
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(StatementRecorder.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProjectQueryPlanTest {
+
+    private static final int PROJECTS = 5000;
+    private static final int MANAGERS = 100;
+    private static final int MEMBERS = 1000;
+    private static final LocalDate BASE = LocalDate.of(2000, 1, 1);
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+
+    @Autowired NamedParameterJdbcTemplate jdbc;
+    @Autowired DatabasePlatform platform;
+    @Autowired StatementRecorder recorder;
+    @Autowired ProjectRepository projectRepo;
+    @Autowired ProjectMemberRepository projectMemberRepo;
+    @Autowired ProjectService projectService;
+
+    private static final String MANAGER = "plan-mgr-7";
+    private static final ProjectStatus STATUS = ProjectStatus.EM_ANDAMENTO;
+    private static final LocalDate FROM = BASE.plusDays(100);
+    private static final LocalDate TO = BASE.plusDays(130);
+    private static final PageRequest PAGE = PageRequest.of(0, 20, Sort.by("id"));
+
+    // Cada forma executa a chamada real do repositório/serviço; o SQL gravado é que passa pelo EXPLAIN
+    Stream<Arguments> shapes() {
+        return Stream.of(
+                shape("gerente (página + count)", () ->
+                        projectRepo.findMatching(filter(MANAGER, null, null, null, null, null), PAGE)),
+                shape("gerente + status", () ->
+                        projectRepo.findMatchingSlice(filter(MANAGER, STATUS, null, null, null, null), PAGE)),
+                shape("gerente + status + período de início", () ->
+                        projectRepo.findMatchingSummarySlice(filter(MANAGER, STATUS, FROM, TO, null, null), PAGE)),
+                shape("status + período de início (count)", () ->
+                        projectRepo.countMatching(filter(null, STATUS, FROM, TO, null, null))),
+                shape("período de início", () ->
+                        projectRepo.findMatchingSummaries(filter(null, null, FROM, TO, null, null), PAGE)),
+                shape("período de término previsto", () ->
+                        projectRepo.findMatchingSlice(filter(null, null, null, null, FROM, TO), PAGE)),
+                shape("keyset por data de início", () ->
+                        projectService.scroll(filter(null, null, null, null, null, null),
+                                ProjectSeek.first(SortField.START_DATE, Sort.Direction.ASC).after(FROM, 10L), 20)),
+                shape("membros de um projeto", () ->
+                        projectMemberRepo.findMemberIdsByProject(42L)),
+                shape("membros de vários projetos", () ->
+                        projectMemberRepo.findMemberIdsByProjectsRaw(List.of(42L, 43L, 44L)))
+        );
+    }
+
+    @BeforeAll
+    void seed() {
+        ProjectStatus[] statuses = ProjectStatus.values();
+        List<MapSqlParameterSource> projects = new ArrayList<>(PROJECTS);
+        for (int i = 0; i < PROJECTS; i++) {
+            LocalDate start = BASE.plusDays(i % 3650);
+            projects.add(new MapSqlParameterSource()
+                    .addValue("name", "Plan " + i)
+                    .addValue("start", Date.valueOf(start))
+                    .addValue("end", Date.valueOf(start.plusDays(90 + i % 200)))
+                    .addValue("budget", new BigDecimal(1000 + i))
+                    .addValue("manager", "plan-mgr-" + (i % MANAGERS))
+                    .addValue("status", statuses[i % statuses.length].name()));
+        }
+        jdbc.batchUpdate("""
+            insert into project (name, start_date, expected_end_date, total_budget, manager_external_id, status, risk)
+            values (:name, :start, :end, :budget, :manager, :status, 'BAIXO')
+            """, projects.toArray(MapSqlParameterSource[]::new));
+
+        jdbc.getJdbcTemplate().update("""
+            insert into project_member (project_id, member_external_id)
+            select p.id, concat('plan-member-', mod(p.id, %d)) from project p where p.name like 'Plan %%'
+            """.formatted(MEMBERS));
+
+        jdbc.getJdbcTemplate().execute(platform.isPostgres() ? "analyze project, project_member" : "analyze");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbc.getJdbcTemplate().update("delete from project where name like 'Plan %'");
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("shapes")
+    @DisplayName("forma de consulta suportada não faz varredura completa")
+    void usesIndex(String description, Runnable query) {
+        List<Recorded> statements = recorder.record(query);
+        assertThat(statements).as("consultas gravadas para '%s'", description).isNotEmpty();
+
+        for (Recorded statement : statements) {
+            if (platform.isPostgres()) {
+                String plan = explain("explain ", statement);
+                assertThat(plan).as("plano de '%s':%n%s", description, plan).doesNotContain("Seq Scan");
+                continue;
+            }
+
+            // H2 também mostra "usando índice" quando só percorre um índice inteiro; o scanCount do
+            // EXPLAIN ANALYZE mostra quantas linhas cada tabela leu de fato
+            String plan = explain("explain analyze ", statement);
+            assertThat(plan).as("plano de '%s':%n%s", description, plan).doesNotContain(".tableScan");
+            Matcher scans = SCAN_COUNT.matcher(plan);
+            while (scans.find()) {
+                assertThat(Long.parseLong(scans.group(1)))
+                        .as("linhas lidas em '%s':%n%s", description, plan)
+                        .isLessThan(PROJECTS / 10);
+            }
+        }
+    }
+
+    private String explain(String prefix, Recorded statement) {
+        return jdbc.getJdbcTemplate().query(prefix + statement.sql(),
+                ps -> {
+                    for (var param : statement.params().entrySet()) {
+                        ps.setObject(param.getKey(), param.getValue());
+                    }
+                },
+                rs -> {
+                    StringBuilder plan = new StringBuilder();
+                    while (rs.next()) plan.append(rs.getString(1)).append('\n');
+                    return plan.toString();
+                });
+    }
+
+    private static Arguments shape(String description, Runnable query) {
+        return Arguments.of(description, query);
+    }
+
+    private static ProjectFilter filter(String manager, ProjectStatus status, LocalDate startFrom, LocalDate startTo,
+                                        LocalDate endFrom, LocalDate endTo) {
+        return new ProjectFilter(null, status, manager, startFrom, startTo, endFrom, endTo);
+    }
+}
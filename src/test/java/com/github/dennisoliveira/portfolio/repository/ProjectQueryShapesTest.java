@@ -0,0 +1,94 @@
+package com.github.dennisoliveira.portfolio.repository;
+
+import com.github.dennisoliveira.portfolio.domain.ProjectStatus;
+import com.github.dennisoliveira.portfolio.dto.ProjectFilter;
+import com.github.dennisoliveira.portfolio.repository.ProjectQueryShapes.Projection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PropertyReferenceException;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class ProjectQueryShapesTest {
+
+    private final ProjectQueryShapes shapes = new ProjectQueryShapes(16, new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("filtros com os mesmos campos preenchidos reaproveitam o mesmo JPQL")
+    void sameShapeHitsCache() {
+        var a = new ProjectFilter(null, ProjectStatus.INICIADO, "mgr-1", null, null, null, null);
+        var b = new ProjectFilter(null, ProjectStatus.CANCELADO, "mgr-2", null, null, null, null);
+
+        String first = shapes.jpql(shapes.shape(a, Projection.ENTITY, Sort.by("id")));
+        String second = shapes.jpql(shapes.shape(b, Projection.ENTITY, Sort.by("id")));
+
+        assertThat(second).isSameAs(first)
+                .isEqualTo("select p from Project p where p.status = :status and p.managerExternalId = :manager"
+                        + " order by p.id asc");
+        assertThat(shapes.stats().hitCount()).isEqualTo(1);
+        assertThat(shapes.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("forma, projeção e ordenação diferentes geram consultas distintas; count ignora a ordenação")
+    void differentShapes() {
+        var byStatus = new ProjectFilter(null, ProjectStatus.INICIADO, null, null, null, null, null);
+        var byDates = new ProjectFilter(null, null, " ", LocalDate.of(2030, 1, 1), null, null, null);
+
+        assertThat(shapes.jpql(shapes.shape(byDates, Projection.SUMMARY, Sort.by(Sort.Order.desc("startDate")))))
+                .startsWith("select new ")
+                .endsWith("from Project p where p.startDate >= :startFrom order by p.startDate desc");
+        assertThat(shapes.jpql(shapes.shape(byStatus, Projection.COUNT, Sort.by("name"))))
+                .isEqualTo("select count(p) from Project p where p.status = :status");
+        assertThat(shapes.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("vincula apenas os parâmetros da forma, com o nome escapado para LIKE")
+    void bindsOnlyShapeParameters() {
+        var filter = new ProjectFilter("100%", null, null, null, null, null, null);
+        var shape = shapes.shape(filter, Projection.ENTITY, Sort.unsorted());
+        Query query = mock(Query.class);
+
+        shapes.bind(query, filter, shape);
+
+        verify(query).setParameter("name", "%100\\%%");
+        verify(query, never()).setParameter(any(String.class), any(ProjectStatus.class));
+    }
+
+    @Test
+    @DisplayName("as mesmas condições saem em SQL nativo, com enums vinculados pelo nome")
+    void sqlConditionsMirrorJpql() {
+        var filter = new ProjectFilter("a_b", ProjectStatus.INICIADO, "mgr-1", null, LocalDate.of(2030, 1, 1), null, null);
+        var shape = shapes.shape(filter, Projection.COUNT, Sort.unsorted());
+
+        assertThat(shapes.sqlConditions(shape)).isEqualTo("lower(p.name) like :name escape '\\' and p.status = :status"
+                + " and p.manager_external_id = :manager and p.start_date <= :startTo");
+        assertThat(shapes.sqlParameters(filter, shape)).containsExactly(
+                entry("name", "%a\\_b%"), entry("status", "INICIADO"), entry("manager", "mgr-1"),
+                entry("startTo", LocalDate.of(2030, 1, 1)));
+        assertThat(shapes.jpqlConditions(shape)).isEqualTo("lower(p.name) like :name escape '\\' and p.status = :status"
+                + " and p.managerExternalId = :manager and p.startDate <= :startTo");
+    }
+
+    @Test
+    @DisplayName("ordenação por propriedade inexistente é rejeitada antes de montar o JPQL")
+    void rejectsUnknownSortProperty() {
+        var filter = new ProjectFilter(null, null, null, null, null, null, null);
+
+        assertThatThrownBy(() -> shapes.jpql(shapes.shape(filter, Projection.ENTITY, Sort.by("id; delete"))))
+                .isInstanceOf(PropertyReferenceException.class);
+        assertThat(shapes.size()).isZero();
+    }
+}
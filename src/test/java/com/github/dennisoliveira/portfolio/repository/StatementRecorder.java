@@ -0,0 +1,95 @@
+package com.github.dennisoliveira.portfolio.repository;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Grava os statements preparados (SQL + parâmetros) exatamente como a aplicação os envia ao banco,
+// para que os testes de plano rodem EXPLAIN sobre as consultas reais e não sobre cópias escritas à mão
+class StatementRecorder implements BeanPostProcessor {
+
+    record Recorded(String sql, Map<Integer, Object> params) {}
+
+    private final List<Recorded> statements = new CopyOnWriteArrayList<>();
+    private volatile boolean recording;
+
+    List<Recorded> record(Runnable action) {
+        statements.clear();
+        recording = true;
+        try {
+            action.run();
+        } finally {
+            recording = false;
+        }
+        return List.copyOf(statements);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof DelegatingDataSource) {
+            return bean;
+        }
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return recordingConnection(super.getConnection());
+            }
+        };
+    }
+
+    private Connection recordingConnection(Connection connection) {
+        return proxy(Connection.class, connection, (method, args) -> {
+            Object result = invoke(method, connection, args);
+            if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement ps) {
+                return recordingStatement(ps, (String) args[0]);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement recordingStatement(PreparedStatement statement, String sql) {
+        Map<Integer, Object> params = new TreeMap<>();
+        return proxy(PreparedStatement.class, statement, (method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                params.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                params.clear();
+            } else if (recording && (name.equals("executeQuery") || name.equals("execute"))) {
+                statements.add(new Recorded(sql, new TreeMap<>(params)));
+            }
+            return invoke(method, statement, args);
+        });
+    }
+
+    private interface Handler {
+        Object handle(Method method, Object[] args) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler handler) {
+        return (T) Proxy.newProxyInstance(StatementRecorder.class.getClassLoader(), new Class<?>[]{type},
+                (p, method, args) -> method.getName().equals("unwrap") || method.getName().equals("isWrapperFor")
+                        ? invoke(method, target, args)
+                        : handler.handle(method, args));
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.github.dennisoliveira.portfolio.service;
+
+import com.github.dennisoliveira.portfolio.domain.Project;
+import com.github.dennisoliveira.portfolio.domain.ProjectStatus;
+import com.github.dennisoliveira.portfolio.domain.Risk;
+import com.github.dennisoliveira.portfolio.exception.BusinessRuleException;
+import com.github.dennisoliveira.portfolio.integration.members.ExternalMemberDTO;
+import com.github.dennisoliveira.portfolio.integration.members.MemberClient;
+import com.github.dennisoliveira.portfolio.repository.ProjectRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+// Sem @Transactional: cada alocação roda na sua própria transação, como em produção
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class MemberAllocationCountersTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired ProjectService service;
+    @Autowired ProjectRepository projectRepo;
+    @Autowired MemberAllocationCounters counters;
+    @Autowired JdbcTemplate jdbc;
+
+    @MockitoBean MemberClient memberClient;
+
+    private final List<Long> created = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(memberClient.getByIds(anyCollection())).thenAnswer(inv -> {
+            Collection<String> ids = inv.getArgument(0);
+            var found = new HashMap<String, ExternalMemberDTO>();
+            ids.forEach(id -> found.put(id, new ExternalMemberDTO(id, "Nome-" + id, "FUNCIONARIO")));
+            return found;
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        created.forEach(service::delete);
+    }
+
+    @Test
+    @DisplayName("alocações concorrentes do mesmo membro em projetos diferentes respeitam o limite de 3")
+    void concurrentAllocationsRespectLimit() throws Exception {
+        List<Long> projects = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) projects.add(project());
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (Long projectId : projects) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    service.allocateMembers(projectId, List.of("hot-member"));
+                    succeeded.incrementAndGet();
+                } catch (BusinessRuleException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) f.get(30, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        long allocated = projects.stream()
+                .filter(id -> service.listAllocatedMembers(id).contains("hot-member"))
+                .count();
+        assertThat(succeeded.get()).isEqualTo(MemberAllocationCounters.MAX_ACTIVE_PROJECTS);
+        assertThat(rejected.get()).isEqualTo(THREADS - MemberAllocationCounters.MAX_ACTIVE_PROJECTS);
+        assertThat(allocated).isEqualTo(MemberAllocationCounters.MAX_ACTIVE_PROJECTS);
+        assertThat(counters.activeCount("hot-member")).isEqualTo(MemberAllocationCounters.MAX_ACTIVE_PROJECTS);
+    }
+
+    @Test
+    @DisplayName("contador acompanha remoção, cancelamento e exclusão de projetos")
+    void counterFollowsLifecycle() {
+        Long a = project();
+        Long b = project();
+        Long c = project();
+        for (Long id : List.of(a, b, c)) service.allocateMembers(id, List.of("life-member", "life-other"));
+        assertThat(counters.activeCount("life-member")).isEqualTo(3);
+        assertThatThrownBy(() -> service.allocateMembers(project(), List.of("life-member")))
+                .isInstanceOf(BusinessRuleException.class)
+                .hasMessageContaining("id=life-member");
+
+        service.removeMemberAllocation(a, "life-member");
+        assertThat(counters.activeCount("life-member")).isEqualTo(2);
+
+        service.changeStatus(b, ProjectStatus.CANCELADO, null);
+        assertThat(counters.activeCount("life-member")).isEqualTo(1);
+
+        // projeto cancelado já liberou a vaga: excluir não decrementa de novo
+        service.delete(b);
+        created.remove(b);
+        assertThat(counters.activeCount("life-member")).isEqualTo(1);
+
+        service.delete(c);
+        created.remove(c);
+        assertThat(counters.activeCount("life-member")).isZero();
+        assertThat(counters.activeCount("life-other")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("substituições concorrentes que trocam membros entre projetos não entram em deadlock")
+    void concurrentSwapsDoNotDeadlock() throws Exception {
+        Long p1 = project();
+        Long p2 = project();
+        service.allocateMembers(p1, List.of("swap-m2", "swap-x1"));
+        service.allocateMembers(p2, List.of("swap-m1", "swap-x2"));
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        CyclicBarrier round = new CyclicBarrier(2);
+        int rounds = 20;
+        // P1 remove m2 e inclui m1 enquanto P2 remove m1 e inclui m2; na rodada seguinte, o inverso
+        Future<?> first = pool.submit(() -> {
+            for (int i = 0; i < rounds; i++) {
+                round.await(10, TimeUnit.SECONDS);
+                service.replaceAllocations(p1, List.of(i % 2 == 0 ? "swap-m1" : "swap-m2", "swap-x1"));
+            }
+            return null;
+        });
+        Future<?> second = pool.submit(() -> {
+            for (int i = 0; i < rounds; i++) {
+                round.await(10, TimeUnit.SECONDS);
+                service.replaceAllocations(p2, List.of(i % 2 == 0 ? "swap-m2" : "swap-m1", "swap-x2"));
+            }
+            return null;
+        });
+        first.get(60, TimeUnit.SECONDS);
+        second.get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        assertThat(service.listAllocatedMembers(p1)).containsExactlyInAnyOrder("swap-m2", "swap-x1");
+        assertThat(service.listAllocatedMembers(p2)).containsExactlyInAnyOrder("swap-m1", "swap-x2");
+        assertThat(counters.activeCount("swap-m1")).isEqualTo(1);
+        assertThat(counters.activeCount("swap-m2")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("substituição concorrente com alocação e remoção mantém a equipe entre 1 e 10 membros")
+    void concurrentReplaceKeepsTeamBounds() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        for (int i = 0; i < 10; i++) {
+            String r = "bounds-" + i + "-";
+
+            // 9 membros: a substituição leva a 10 enquanto a alocação tenta incluir mais um
+            Long full = project();
+            List<String> nine = new ArrayList<>();
+            for (int m = 0; m < 9; m++) nine.add(r + "m" + m);
+            service.allocateMembers(full, nine);
+            List<String> ten = new ArrayList<>(nine);
+            ten.add(r + "a");
+            race(pool, () -> service.replaceAllocations(full, ten),
+                    () -> service.allocateMembers(full, List.of(r + "b")));
+            assertThat(service.listAllocatedMembers(full)).hasSizeLessThanOrEqualTo(10);
+
+            // 2 membros: a substituição deixa só x enquanto a remoção tira o próprio x
+            Long pair = project();
+            service.allocateMembers(pair, List.of(r + "x", r + "y"));
+            race(pool, () -> service.replaceAllocations(pair, List.of(r + "x")),
+                    () -> service.removeMemberAllocation(pair, r + "x"));
+            List<String> team = service.listAllocatedMembers(pair);
+            assertThat(team).isNotEmpty();
+            for (String m : List.of(r + "x", r + "y")) {
+                assertThat(counters.activeCount(m)).isEqualTo(team.contains(m) ? 1 : 0);
+            }
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("alocação em massa concorrente com alocação do mesmo membro no mesmo projeto não estoura chave duplicada")
+    void concurrentBulkAndSingleAllocation() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        for (int i = 0; i < 10; i++) {
+            String member = "bulk-race-" + i;
+            Long p = project();
+            race(pool, () -> service.bulkAllocate(Map.of(p, List.of(member))),
+                    () -> service.allocateMembers(p, List.of(member)));
+            assertThat(service.listAllocatedMembers(p)).containsExactly(member);
+            assertThat(counters.activeCount(member)).isEqualTo(1);
+        }
+        pool.shutdown();
+    }
+
+    // Roda as duas operações ao mesmo tempo; regras de negócio violadas (BusinessRuleException) são esperadas
+    private static void race(ExecutorService pool, Runnable first, Runnable second) throws Exception {
+        CyclicBarrier start = new CyclicBarrier(2);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Runnable action : List.of(first, second)) {
+            futures.add(pool.submit(() -> {
+                start.await(10, TimeUnit.SECONDS);
+                try {
+                    action.run();
+                } catch (BusinessRuleException ignored) {
+                }
+                return null;
+            }));
+        }
+        for (Future<?> f : futures) f.get(30, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("remoções concorrentes do mesmo membro liberam a vaga uma única vez")
+    void concurrentRemovalsReleaseOnce() throws Exception {
+        Long other = project();
+        service.allocateMembers(other, List.of("twice-member", "twice-x0"));
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        for (int i = 0; i < 10; i++) {
+            Long p = project();
+            service.allocateMembers(p, List.of("twice-member", "twice-x" + (i + 1)));
+            assertThat(counters.activeCount("twice-member")).isEqualTo(2);
+
+            CyclicBarrier start = new CyclicBarrier(2);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 2; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await(10, TimeUnit.SECONDS);
+                    service.removeMemberAllocation(p, "twice-member");
+                    return null;
+                }));
+            }
+            for (Future<?> f : futures) f.get(30, TimeUnit.SECONDS);
+
+            assertThat(counters.activeCount("twice-member")).isEqualTo(1);
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("rebuild recalcula contadores desviados a partir das alocações de projetos ativos")
+    void rebuildRepairsDrift() {
+        Long a = project();
+        Long b = project();
+        service.allocateMembers(a, List.of("drift-member", "drift-other"));
+        service.allocateMembers(b, List.of("drift-member"));
+        service.changeStatus(b, ProjectStatus.CANCELADO, null);
+
+        jdbc.update("update member_allocation_counter set active_count = 3 where member_external_id = 'drift-member'");
+        jdbc.update("delete from member_allocation_counter where member_external_id = 'drift-other'");
+
+        assertThat(counters.rebuild()).isGreaterThanOrEqualTo(2);
+        assertThat(counters.activeCount("drift-member")).isEqualTo(1);
+        assertThat(counters.activeCount("drift-other")).isEqualTo(1);
+        assertThat(counters.rebuild()).isZero();
+    }
+
+    private Long project() {
+        Long id = projectRepo.save(Project.builder()
+                .name("Counter")
+                .startDate(LocalDate.of(2033, 1, 1))
+                .expectedEndDate(LocalDate.of(2033, 6, 1))
+                .totalBudget(new BigDecimal("100.00"))
+                .managerExternalId("mgr-counter")
+                .status(ProjectStatus.EM_ANALISE)
+                .risk(Risk.BAIXO)
+                .build()).getId();
+        created.add(id);
+        return id;
+    }
+}
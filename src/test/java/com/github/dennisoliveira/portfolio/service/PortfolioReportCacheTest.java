@@ -0,0 +1,88 @@
+package com.github.dennisoliveira.portfolio.service;
+
+import com.github.dennisoliveira.portfolio.dto.PortfolioReportResponse;
+import com.github.dennisoliveira.portfolio.event.ProjectChangedEvent;
+import com.github.dennisoliveira.portfolio.repository.PortfolioAnalyticsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class PortfolioReportCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger builds = new AtomicInteger();
+
+    private PortfolioReportResponse build() {
+        return new PortfolioReportResponse(Map.of(), Map.of(), 0.0, (long) builds.incrementAndGet(),
+                null, null, PortfolioReportResponse.CountMode.EXACT, 0.0);
+    }
+
+    @Test
+    @DisplayName("reaproveita o relatório até receber um evento de alteração")
+    void invalidatesOnEvent() {
+        var cache = new PortfolioReportCache(Duration.ZERO, Clock.systemUTC(), registry);
+
+        assertThat(cache.get(this::build).uniqueMembersAllocated()).isEqualTo(1);
+        assertThat(cache.get(this::build).uniqueMembersAllocated()).isEqualTo(1);
+
+        cache.onProjectChanged(new ProjectChangedEvent(1L, ProjectChangedEvent.Type.UPDATED));
+
+        assertThat(cache.get(this::build).uniqueMembersAllocated()).isEqualTo(2);
+        assertThat(registry.counter("portfolio.report.cache", "result", "hit").count()).isEqualTo(1);
+        assertThat(registry.counter("portfolio.report.cache", "result", "miss").count()).isEqualTo(2);
+        assertThat(registry.timer("portfolio.report.rebuild").count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("com max-staleness, serve o relatório antigo até o limite de tempo")
+    void boundedStaleness() {
+        var clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        var cache = new PortfolioReportCache(Duration.ofSeconds(30), clock, registry);
+
+        cache.get(this::build);
+        cache.invalidate();
+
+        clock.advance(Duration.ofSeconds(10));
+        assertThat(cache.get(this::build).uniqueMembersAllocated()).isEqualTo(1);
+
+        clock.advance(Duration.ofSeconds(30));
+        assertThat(cache.get(this::build).uniqueMembersAllocated()).isEqualTo(2);
+        assertThat(registry.counter("portfolio.report.cache", "result", "stale_hit").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("reconstrução periódica dos sketches invalida o relatório em cache")
+    void sketchRebuildInvalidates() {
+        var cache = new PortfolioReportCache(Duration.ofMinutes(5), Clock.systemUTC(), registry);
+        var sketches = new MemberSketches(mock(PortfolioAnalyticsRepository.class), cache,
+                PortfolioReportResponse.CountMode.APPROXIMATE, 10);
+
+        cache.get(this::build);
+        sketches.rebuild();
+
+        // evict ignora o max-staleness: o relatório nunca fica mais antigo que os sketches
+        assertThat(cache.get(this::build).uniqueMembersAllocated()).isEqualTo(2);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) { this.now = now; }
+
+        void advance(Duration d) { now = now.plus(d); }
+
+        @Override public ZoneOffset getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(java.time.ZoneId zone) { return this; }
+        @Override public Instant instant() { return now; }
+    }
+}
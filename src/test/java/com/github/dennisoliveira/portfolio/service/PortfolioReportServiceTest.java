@@ -0,0 +1,45 @@
+package com.github.dennisoliveira.portfolio.service;
+
+import com.github.dennisoliveira.portfolio.repository.PortfolioAnalyticsRepository;
+import com.github.dennisoliveira.portfolio.repository.PortfolioStatsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PortfolioReportServiceTest {
+
+    private final PortfolioStatsRepository statsRepo = mock(PortfolioStatsRepository.class);
+    private final MemberSketches sketches = mock(MemberSketches.class);
+    private final PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+    private final PortfolioReportService service = new PortfolioReportService(statsRepo, sketches,
+            new PortfolioReportCache(Duration.ZERO, new SimpleMeterRegistry()),
+            mock(PortfolioAnalyticsRepository.class), txManager);
+
+    @Test
+    @DisplayName("reconstrução do relatório em cache roda numa única transação somente leitura")
+    void buildRunsInReadOnlyTransaction() {
+        when(txManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(statsRepo.findAllRaw()).thenReturn(List.of());
+
+        service.build();
+
+        var definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(txManager).getTransaction(definition.capture());
+        assertThat(definition.getValue().isReadOnly()).isTrue();
+        var order = inOrder(txManager, statsRepo);
+        order.verify(txManager).getTransaction(any());
+        order.verify(statsRepo).findAllRaw();
+        order.verify(txManager).commit(any());
+    }
+}
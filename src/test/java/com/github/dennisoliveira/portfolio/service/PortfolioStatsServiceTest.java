@@ -0,0 +1,115 @@
+package com.github.dennisoliveira.portfolio.service;
+
+import com.github.dennisoliveira.portfolio.domain.Project;
+import com.github.dennisoliveira.portfolio.domain.ProjectMember;
+import com.github.dennisoliveira.portfolio.domain.ProjectStatus;
+import com.github.dennisoliveira.portfolio.domain.Risk;
+import com.github.dennisoliveira.portfolio.dto.PortfolioReportResponse;
+import com.github.dennisoliveira.portfolio.repository.PortfolioStatsRepository;
+import com.github.dennisoliveira.portfolio.repository.ProjectMemberRepository;
+import com.github.dennisoliveira.portfolio.repository.ProjectRepository;
+import com.github.dennisoliveira.portfolio.service.PortfolioStatsService.ProjectStatsSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class PortfolioStatsServiceTest {
+
+    @Autowired PortfolioStatsService statsService;
+    @Autowired PortfolioReportService reportService;
+    @Autowired ProjectRepository projectRepo;
+    @Autowired ProjectMemberRepository projectMemberRepo;
+
+    @Test
+    @DisplayName("contadores incrementais batem com a reconstrução completa")
+    void incrementalMatchesRebuild() {
+        statsService.rebuild();
+        PortfolioReportResponse baseline = reportService.buildFresh();
+
+        Project a = create("A", "1000.00");
+        Project b = create("B", "250.50");
+
+        var before = ProjectStatsSnapshot.of(a);
+        a.setStatus(ProjectStatus.ENCERRADO);
+        a.setActualEndDate(a.getStartDate().plusDays(10));
+        projectRepo.save(a);
+        statsService.projectChanged(before, ProjectStatsSnapshot.of(a));
+
+        allocate(a, "m-1", "m-2");
+        allocate(b, "m-2", "m-3");
+
+        projectMemberRepo.deleteByProjectIdAndMember(b.getId(), "m-3");
+        statsService.membersReleased(List.of("m-3"));
+
+        PortfolioReportResponse incremental = reportService.buildFresh();
+        assertThat(incremental.projectsByStatus().get(ProjectStatus.EM_ANALISE))
+                .isEqualTo(baseline.projectsByStatus().get(ProjectStatus.EM_ANALISE) + 1);
+        assertThat(incremental.uniqueMembersAllocated()).isEqualTo(baseline.uniqueMembersAllocated() + 2);
+        // modo EXACT: só os números mantidos em portfolio_stats, sem count(distinct) por status/ativos
+        assertThat(incremental.uniqueMembersAllocatedActive()).isNull();
+        assertThat(incremental.uniqueMembersByStatus()).isNull();
+
+        statsService.rebuild();
+        PortfolioReportResponse rebuilt = reportService.buildFresh();
+
+        assertThat(incremental.projectsByStatus()).isEqualTo(rebuilt.projectsByStatus());
+        assertThat(incremental.totalBudgetByStatus()).usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(rebuilt.totalBudgetByStatus());
+        assertThat(incremental.avgDurationClosedDays()).isEqualTo(rebuilt.avgDurationClosedDays());
+        assertThat(incremental.uniqueMembersAllocated()).isEqualTo(rebuilt.uniqueMembersAllocated());
+    }
+
+    @Test
+    @DisplayName("membro cuja linha foi apagada por uma liberação concorrente é recriado e contado como novo")
+    void membersAllocated_recreatesRowDeletedConcurrently() {
+        var statsRepo = mock(PortfolioStatsRepository.class);
+        // 1ª tentativa: a linha existia (insert ignorado), mas foi apagada antes do update
+        when(statsRepo.insertMemberIfAbsent("m-race")).thenReturn(0, 1);
+        when(statsRepo.addMemberAllocations("m-race", 1)).thenReturn(0, 1);
+
+        new PortfolioStatsService(statsRepo, projectRepo).membersAllocated(List.of("m-race"));
+
+        verify(statsRepo, times(2)).insertMemberIfAbsent("m-race");
+        verify(statsRepo).increment(PortfolioStatsService.DISTINCT_MEMBERS, 1, BigDecimal.ZERO);
+    }
+
+    private Project create(String name, String budget) {
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        Project p = projectRepo.save(Project.builder()
+                .name(name)
+                .startDate(start)
+                .expectedEndDate(start.plusMonths(1))
+                .totalBudget(new BigDecimal(budget))
+                .managerExternalId("mgr-1")
+                .status(ProjectStatus.EM_ANALISE)
+                .risk(Risk.BAIXO)
+                .build());
+        statsService.projectChanged(null, ProjectStatsSnapshot.of(p));
+        return p;
+    }
+
+    private void allocate(Project p, String... memberIds) {
+        for (String id : memberIds) {
+            projectMemberRepo.save(new ProjectMember(p, id));
+        }
+        projectMemberRepo.flush();
+        statsService.membersAllocated(List.of(memberIds));
+    }
+}
@@ -0,0 +1,217 @@
+package com.github.dennisoliveira.portfolio.service;
+
+import com.github.dennisoliveira.portfolio.domain.Project;
+import com.github.dennisoliveira.portfolio.domain.ProjectStatus;
+import com.github.dennisoliveira.portfolio.domain.Risk;
+import com.github.dennisoliveira.portfolio.dto.BulkAllocationResponse;
+import com.github.dennisoliveira.portfolio.dto.BulkAllocationResponse.Outcome;
+import com.github.dennisoliveira.portfolio.dto.BulkAllocationResponse.ProjectResult;
+import com.github.dennisoliveira.portfolio.exception.BusinessRuleException;
+import com.github.dennisoliveira.portfolio.integration.members.ExternalMemberDTO;
+import com.github.dennisoliveira.portfolio.integration.members.MemberClient;
+import com.github.dennisoliveira.portfolio.repository.ProjectRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+class ProjectAllocationQueriesTest {
+
+    @Autowired ProjectService service;
+    @Autowired ProjectRepository projectRepo;
+    @Autowired EntityManager em;
+    @Autowired EntityManagerFactory emf;
+    @Autowired MemberAllocationCounters counters;
+
+    @MockitoBean MemberClient memberClient;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        when(memberClient.getByIds(anyCollection())).thenAnswer(inv -> {
+            Collection<String> ids = inv.getArgument(0);
+            var found = new HashMap<String, ExternalMemberDTO>();
+            ids.forEach(id -> found.put(id, new ExternalMemberDTO(id, "Nome-" + id, "FUNCIONARIO")));
+            return found;
+        });
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("a checagem do limite de projetos ativos usa o mesmo número de consultas para 2 ou 8 membros")
+    void constantQueriesPerAllocation() {
+        long two = queriesToAllocate(members("q2-", 2));
+        long eight = queriesToAllocate(members("q8-", 8));
+
+        assertThat(eight).isEqualTo(two);
+    }
+
+    @Test
+    @DisplayName("contador de projetos ativos bloqueia o membro que já está em 3 projetos ativos")
+    void activeCounterEnforcesLimit() {
+        for (int i = 0; i < 3; i++) {
+            service.allocateMembers(project().getId(), List.of("busy", "free-" + i));
+        }
+        Project closed = project();
+        service.allocateMembers(closed.getId(), List.of("busy-closed"));
+        closed.setStatus(ProjectStatus.CANCELADO);
+
+        Long target = project().getId();
+        assertThatThrownBy(() -> service.allocateMembers(target, List.of("free-0", "busy")))
+                .isInstanceOf(BusinessRuleException.class)
+                .hasMessageContaining("id=busy");
+
+        // projeto cancelado não conta como ativo
+        service.allocateMembers(target, List.of("free-0", "busy-closed"));
+        assertThat(service.listAllocatedMembers(target)).containsExactlyInAnyOrder("free-0", "busy-closed");
+    }
+
+    @Test
+    @DisplayName("substituir a equipe remove, inclui e ajusta os contadores numa única chamada")
+    void replaceAllocationsAppliesDiff() {
+        Long id = project().getId();
+        service.allocateMembers(id, List.of("rep-1", "rep-2", "rep-3"));
+
+        var result = service.replaceAllocations(id, List.of("rep-3", "rep-4"));
+        em.flush();
+        em.clear();
+
+        assertThat(result).containsExactly("rep-3", "rep-4");
+        assertThat(service.listAllocatedMembers(id)).containsExactlyInAnyOrder("rep-3", "rep-4");
+        assertThat(counters.activeCount("rep-1")).isZero();
+        assertThat(counters.activeCount("rep-4")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("alocação em lote devolve o resultado de cada projeto e aplica o limite considerando o lote inteiro")
+    void bulkAllocateReportsPerProjectResults() {
+        for (int i = 0; i < 2; i++) {
+            service.allocateMembers(project().getId(), List.of("bulk-busy"));
+        }
+        Long first = project().getId();
+        Long second = project().getId();
+        Long unchanged = project().getId();
+        service.allocateMembers(unchanged, List.of("bulk-a"));
+        Project closed = project();
+        closed.setStatus(ProjectStatus.ENCERRADO);
+        em.flush();
+        em.clear();
+
+        Map<Long, List<String>> request = new LinkedHashMap<>();
+        request.put(second, List.of("bulk-b", "bulk-busy"));
+        request.put(first, List.of("bulk-busy", "bulk-a"));
+        request.put(unchanged, List.of("bulk-a"));
+        request.put(closed.getId(), List.of("bulk-c"));
+        request.put(-1L, List.of("bulk-d"));
+
+        var response = service.bulkAllocate(request);
+        em.flush();
+        em.clear();
+
+        assertThat(response.allocated()).isEqualTo(1);
+        assertThat(response.unchanged()).isEqualTo(1);
+        assertThat(response.failed()).isEqualTo(3);
+        assertThat(response.results()).extracting(ProjectResult::projectId)
+                .containsExactly(-1L, first, second, unchanged, closed.getId());
+        assertThat(result(response, first).outcome()).isEqualTo(Outcome.ALLOCATED);
+        assertThat(result(response, first).added()).containsExactly("bulk-busy", "bulk-a");
+        assertThat(result(response, second).error()).contains("id=bulk-busy");
+        assertThat(result(response, closed.getId()).error()).contains("closed/canceled");
+        assertThat(result(response, -1L).error()).isEqualTo("Project not found");
+
+        assertThat(service.listAllocatedMembers(first)).containsExactlyInAnyOrder("bulk-busy", "bulk-a");
+        assertThat(service.listAllocatedMembers(second)).isEmpty();
+        assertThat(counters.activeCount("bulk-busy")).isEqualTo(3);
+        // incremento do projeto que falhou foi desfeito
+        assertThat(counters.activeCount("bulk-b")).isZero();
+    }
+
+    @Test
+    @DisplayName("alocação em lote consulta a Members API e carrega os projetos uma única vez")
+    void bulkAllocateValidatesMembersOnce() {
+        Map<Long, List<String>> request = new LinkedHashMap<>();
+        for (int i = 0; i < 6; i++) {
+            request.put(project().getId(), List.of("once-shared", "once-" + i));
+        }
+        em.flush();
+        em.clear();
+        statistics.clear();
+        clearInvocations(memberClient);
+
+        var response = service.bulkAllocate(request);
+
+        assertThat(response.allocated()).isEqualTo(3);
+        assertThat(response.failed()).isEqualTo(3);
+        verify(memberClient, times(1)).getByIds(anyCollection());
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(6);
+        // equipes atuais dos 6 projetos numa única consulta
+        String currentMembers = Arrays.stream(statistics.getQueries())
+                .filter(q -> q.contains("in :projectIds"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(statistics.getQueryStatistics(currentMembers).getExecutionCount()).isEqualTo(1);
+    }
+
+    private static ProjectResult result(BulkAllocationResponse response, Long projectId) {
+        return response.results().stream().filter(r -> r.projectId().equals(projectId)).findFirst().orElseThrow();
+    }
+
+    private long queriesToAllocate(List<String> members) {
+        Project p = project();
+        em.flush();
+        em.clear();
+        statistics.clear();
+
+        service.allocateMembers(p.getId(), members);
+        em.flush();
+
+        assertThat(service.listAllocatedMembers(p.getId())).hasSize(members.size());
+        return statistics.getQueryExecutionCount();
+    }
+
+    private static List<String> members(String prefix, int count) {
+        return IntStream.range(0, count).mapToObj(i -> prefix + i).toList();
+    }
+
+    private Project project() {
+        return projectRepo.save(Project.builder()
+                .name("Allocation queries")
+                .startDate(LocalDate.of(2032, 1, 1))
+                .expectedEndDate(LocalDate.of(2032, 6, 1))
+                .totalBudget(new BigDecimal("100.00"))
+                .managerExternalId("mgr-alloc")
+                .status(ProjectStatus.EM_ANALISE)
+                .risk(Risk.BAIXO)
+                .build());
+    }
+}
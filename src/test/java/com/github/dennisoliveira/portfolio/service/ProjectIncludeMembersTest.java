@@ -0,0 +1,107 @@
+package com.github.dennisoliveira.portfolio.service;
+
+import com.github.dennisoliveira.portfolio.domain.Project;
+import com.github.dennisoliveira.portfolio.domain.ProjectMember;
+import com.github.dennisoliveira.portfolio.domain.ProjectStatus;
+import com.github.dennisoliveira.portfolio.domain.Risk;
+import com.github.dennisoliveira.portfolio.dto.PageTotal;
+import com.github.dennisoliveira.portfolio.dto.ProjectFilter;
+import com.github.dennisoliveira.portfolio.dto.ProjectSummary;
+import com.github.dennisoliveira.portfolio.repository.ProjectMemberRepository;
+import com.github.dennisoliveira.portfolio.repository.ProjectRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+class ProjectIncludeMembersTest {
+
+    private static final String MANAGER = "mgr-include";
+    private static final ProjectFilter BY_MANAGER = new ProjectFilter(null, null, MANAGER, null, null, null, null);
+
+    @Autowired ProjectService service;
+    @Autowired ProjectRepository projectRepo;
+    @Autowired ProjectMemberRepository projectMemberRepo;
+    @Autowired EntityManager em;
+    @Autowired EntityManagerFactory emf;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 12; i++) {
+            Project p = projectRepo.save(Project.builder()
+                    .name("Include " + i)
+                    .startDate(LocalDate.of(2031, 1, 1).plusDays(i))
+                    .expectedEndDate(LocalDate.of(2031, 6, 1))
+                    .totalBudget(new BigDecimal("100.00"))
+                    .managerExternalId(MANAGER)
+                    .status(ProjectStatus.EM_ANALISE)
+                    .risk(Risk.BAIXO)
+                    .build());
+            for (int m = 0; m <= i % 3; m++) {
+                projectMemberRepo.save(new ProjectMember(p, "inc-member-" + m));
+            }
+        }
+        em.flush();
+        em.clear();
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("membros da página saem de uma única consulta, qualquer que seja o tamanho da página")
+    void constantQueriesPerPage() {
+        long small = statementsForPage(3);
+        long large = statementsForPage(12);
+
+        // uma consulta para a página (sem count) + uma para os membros
+        assertThat(small).isEqualTo(2);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    @DisplayName("agrupa os membros por projeto, com lista vazia para projeto sem alocação")
+    void groupsMembersByProject() {
+        var page = service.listSummaryPage(BY_MANAGER, PageRequest.of(0, 3, Sort.by("startDate")), PageTotal.NONE);
+        List<Long> ids = page.content().stream().map(ProjectSummary::id).toList();
+        projectMemberRepo.deleteByProjectIdAndMember(ids.get(0), "inc-member-0");
+
+        Map<Long, List<String>> members = service.allocatedMembersByProject(ids);
+
+        assertThat(members.get(ids.get(0))).isEmpty();
+        assertThat(members.get(ids.get(1))).containsExactly("inc-member-0", "inc-member-1");
+        assertThat(members.get(ids.get(2))).containsExactly("inc-member-0", "inc-member-1", "inc-member-2");
+        assertThat(service.allocatedMembersByProject(List.of())).isEmpty();
+    }
+
+    private long statementsForPage(int size) {
+        em.clear();
+        statistics.clear();
+
+        var page = service.listSummaryPage(BY_MANAGER, PageRequest.of(0, size, Sort.by("startDate")), PageTotal.NONE);
+        var members = service.allocatedMembersByProject(page.content().stream().map(ProjectSummary::id).toList());
+
+        assertThat(page.content()).hasSize(size);
+        assertThat(members).hasSize(size);
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -1,15 +1,22 @@
 package com.github.dennisoliveira.portfolio.service;
 
+import com.github.dennisoliveira.portfolio.config.ProjectListingProperties;
 import com.github.dennisoliveira.portfolio.domain.Project;
 import com.github.dennisoliveira.portfolio.domain.ProjectMember;
 import com.github.dennisoliveira.portfolio.domain.ProjectMemberId;
 import com.github.dennisoliveira.portfolio.domain.ProjectStatus;
+import com.github.dennisoliveira.portfolio.dto.NameMatch;
+import com.github.dennisoliveira.portfolio.dto.PageTotal;
 import com.github.dennisoliveira.portfolio.dto.ProjectCreateRequest;
+import com.github.dennisoliveira.portfolio.dto.ProjectFilter;
+import com.github.dennisoliveira.portfolio.dto.ProjectSummary;
 import com.github.dennisoliveira.portfolio.exception.BusinessRuleException;
 import com.github.dennisoliveira.portfolio.exception.NotFoundException;
 import com.github.dennisoliveira.portfolio.integration.members.ExternalMemberDTO;
 import com.github.dennisoliveira.portfolio.integration.members.MemberClient;
 import com.github.dennisoliveira.portfolio.mapper.ProjectMapper;
+import com.github.dennisoliveira.portfolio.repository.ProjectCountEstimator;
+import com.github.dennisoliveira.portfolio.repository.ProjectMemberBatchRepository;
 import com.github.dennisoliveira.portfolio.repository.ProjectMemberRepository;
 import com.github.dennisoliveira.portfolio.repository.ProjectRepository;
 import com.github.dennisoliveira.portfolio.service.domain.RiskClassifier;
@@ -20,11 +27,19 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
@@ -42,6 +57,13 @@ class ProjectServiceTest {
     @Mock RiskClassifier riskClassifier;
     @Mock ProjectMapper mapper;
     @Mock MemberClient memberClient;
+    @Mock PortfolioStatsService statsService;
+    @Mock MemberAllocationCounters allocationCounters;
+    @Mock ProjectMemberBatchRepository batchRepo;
+    @Mock ApplicationEventPublisher events;
+    @Mock ProjectCountEstimator countEstimator;
+    @Spy ProjectListingProperties listing = new ProjectListingProperties(
+            new ProjectListingProperties.Search(500), new ProjectListingProperties.Page(10000));
 
     @InjectMocks
     ProjectService service;
@@ -332,7 +354,7 @@ class ProjectServiceTest {
         p3.setId(id);
         p3.setStatus(ProjectStatus.ENCERRADO);
 
-        when(projectRepo.findById(id)).thenReturn(Optional.of(p1), Optional.of(p2), Optional.of(p3));
+        when(projectRepo.findByIdForUpdate(id)).thenReturn(Optional.of(p1), Optional.of(p2), Optional.of(p3));
 
         assertThatThrownBy(() -> service.delete(id))
                 .isInstanceOf(BusinessRuleException.class)
@@ -359,7 +381,7 @@ class ProjectServiceTest {
         p.setExpectedEndDate(LocalDate.of(2025, 4, 1));
         p.setStatus(ProjectStatus.EM_ANDAMENTO);
 
-        when(projectRepo.findById(id)).thenReturn(Optional.of(p), Optional.of(p), Optional.of(p));
+        when(projectRepo.findByIdForUpdate(id)).thenReturn(Optional.of(p), Optional.of(p), Optional.of(p));
         when(projectRepo.save(any(Project.class))).thenAnswer(inv -> inv.getArgument(0));
 
         assertThatThrownBy(() -> service.changeStatus(id, ProjectStatus.ENCERRADO, null))
@@ -387,13 +409,13 @@ class ProjectServiceTest {
         closed.setId(id);
         closed.setStatus(ProjectStatus.CANCELADO);
 
-        when(projectRepo.findById(id)).thenReturn(Optional.of(closed));
+        when(projectRepo.findByIdForUpdate(id)).thenReturn(Optional.of(closed));
 
         assertThatThrownBy(() -> service.allocateMembers(id, java.util.List.of("m1")))
                 .isInstanceOf(BusinessRuleException.class)
                 .hasMessageContaining("closed/canceled");
 
-        verify(memberClient, never()).getById(any());
+        verify(memberClient, never()).getByIds(any());
         verify(projectMemberRepo, never()).findMemberIdsByProject(id);
     }
 
@@ -406,7 +428,7 @@ class ProjectServiceTest {
         p.setId(id);
         p.setStatus(ProjectStatus.EM_ANALISE);
 
-        when(projectRepo.findById(id)).thenReturn(Optional.of(p));
+        when(projectRepo.findByIdForUpdate(id)).thenReturn(Optional.of(p));
         when(projectMemberRepo.findMemberIdsByProject(id))
                 .thenReturn(java.util.List.of("m1","m2","m3","m4","m5","m6","m7","m8","m9"));
 
@@ -414,7 +436,7 @@ class ProjectServiceTest {
                 .isInstanceOf(BusinessRuleException.class)
                 .hasMessageContaining("limit exceeded");
 
-        verify(memberClient, never()).getById(any());
+        verify(memberClient, never()).getByIds(any());
     }
 
     @Test
@@ -426,15 +448,15 @@ class ProjectServiceTest {
         p.setId(projectId);
         p.setStatus(ProjectStatus.EM_ANALISE);
 
-        when(projectRepo.findById(projectId)).thenReturn(Optional.of(p));
+        when(projectRepo.findByIdForUpdate(projectId)).thenReturn(Optional.of(p));
         when(projectMemberRepo.findMemberIdsByProject(projectId)).thenReturn(java.util.List.of());
-        when(memberClient.getById("m1")).thenReturn(Optional.empty());
+        when(memberClient.getByIds(java.util.Set.of("m1"))).thenReturn(java.util.Map.of());
 
         assertThatThrownBy(() -> service.allocateMembers(projectId, java.util.List.of("m1")))
                 .isInstanceOf(BusinessRuleException.class)
                 .hasMessageContaining("Member not found");
 
-        verify(projectMemberRepo, never()).countActiveProjectsForMember(any(), anySet());
+        verify(allocationCounters, never()).acquire(any());
         verify(projectMemberRepo, never()).save(any());
     }
 
@@ -447,17 +469,17 @@ class ProjectServiceTest {
         p.setId(projectId);
         p.setStatus(ProjectStatus.EM_ANALISE);
 
-        when(projectRepo.findById(projectId)).thenReturn(Optional.of(p));
+        when(projectRepo.findByIdForUpdate(projectId)).thenReturn(Optional.of(p));
         when(projectMemberRepo.findMemberIdsByProject(projectId)).thenReturn(java.util.List.of());
 
-        when(memberClient.getById("m2"))
-                .thenReturn(Optional.of(new ExternalMemberDTO("m2", "João", "GERENTE")));
+        when(memberClient.getByIds(java.util.Set.of("m2")))
+                .thenReturn(java.util.Map.of("m2", new ExternalMemberDTO("m2", "João", "GERENTE")));
 
         assertThatThrownBy(() -> service.allocateMembers(projectId, java.util.List.of("m2")))
                 .isInstanceOf(BusinessRuleException.class)
                 .hasMessageContaining("Only members with role FUNCIONARIO");
 
-        verify(projectMemberRepo, never()).countActiveProjectsForMember(any(), org.mockito.ArgumentMatchers.anySet());
+        verify(allocationCounters, never()).acquire(any());
         verify(projectMemberRepo, never()).save(any());
     }
 
@@ -470,18 +492,17 @@ class ProjectServiceTest {
         p.setId(projectId);
         p.setStatus(ProjectStatus.EM_ANALISE);
 
-        when(projectRepo.findById(projectId)).thenReturn(Optional.of(p));
+        when(projectRepo.findByIdForUpdate(projectId)).thenReturn(Optional.of(p));
         when(projectMemberRepo.findMemberIdsByProject(projectId)).thenReturn(java.util.List.of("m1"));
 
-        when(memberClient.getById("m1"))
-                .thenReturn(Optional.of(new ExternalMemberDTO("m1", "Ana", "FUNCIONARIO")));
-        when(memberClient.getById("m2"))
-                .thenReturn(Optional.of(new ExternalMemberDTO("m2", "Bruno", "FUNCIONARIO")));
+        when(memberClient.getByIds(java.util.Set.of("m1", "m2")))
+                .thenReturn(java.util.Map.of(
+                        "m1", new ExternalMemberDTO("m1", "Ana", "FUNCIONARIO"),
+                        "m2", new ExternalMemberDTO("m2", "Bruno", "FUNCIONARIO")));
 
-        when(projectMemberRepo.countActiveProjectsForMember(
-                org.mockito.ArgumentMatchers.anyString(),
-                org.mockito.ArgumentMatchers.anySet())
-        ).thenReturn(3L);
+        // m1 já está no projeto: só m2 ocupa uma nova vaga
+        org.mockito.Mockito.doThrow(new BusinessRuleException("Member exceeds active projects limit (max=3) (id=m2)."))
+                .when(allocationCounters).acquire(java.util.List.of("m2"));
 
         assertThatThrownBy(() -> service.allocateMembers(projectId, java.util.List.of("m1", "m2")))
                 .isInstanceOf(BusinessRuleException.class)
@@ -491,37 +512,25 @@ class ProjectServiceTest {
     }
 
     @Test
-    @DisplayName("allocateMembers: deve salvar apenas os novos e ignorar DataIntegrityViolation (concorrência)")
-    void allocate_shouldSaveOnlyNew_andIgnoreDataIntegrityRace() {
+    @DisplayName("allocateMembers: deve salvar apenas os novos e ocupar vaga só para eles")
+    void allocate_shouldSaveOnlyNew() {
         long projectId = 5L;
 
         var p = new Project();
         p.setId(projectId);
         p.setStatus(ProjectStatus.EM_ANALISE);
 
-        when(projectRepo.findById(projectId)).thenReturn(Optional.of(p));
+        when(projectRepo.findByIdForUpdate(projectId)).thenReturn(Optional.of(p));
         when(projectMemberRepo.findMemberIdsByProject(projectId)).thenReturn(java.util.List.of("m1"));
 
-        when(memberClient.getById(org.mockito.ArgumentMatchers.anyString()))
+        when(memberClient.getByIds(org.mockito.ArgumentMatchers.anyCollection()))
                 .thenAnswer(inv -> {
-                    String id = inv.getArgument(0);
-                    return Optional.of(new ExternalMemberDTO(id, "Nome-" + id, "FUNCIONARIO"));
+                    java.util.Collection<String> ids = inv.getArgument(0);
+                    var found = new java.util.HashMap<String, ExternalMemberDTO>();
+                    ids.forEach(id -> found.put(id, new ExternalMemberDTO(id, "Nome-" + id, "FUNCIONARIO")));
+                    return found;
                 });
 
-        when(projectMemberRepo.countActiveProjectsForMember(
-                org.mockito.ArgumentMatchers.anyString(),
-                org.mockito.ArgumentMatchers.anySet()
-        )).thenReturn(0L);
-
-        when(projectMemberRepo.existsById(org.mockito.ArgumentMatchers.any(ProjectMemberId.class))).thenReturn(false);
-
-        org.mockito.Mockito.doAnswer(inv -> inv.getArgument(0))
-                .when(projectMemberRepo)
-                .save(org.mockito.ArgumentMatchers.argThat(pm -> ((ProjectMember) pm).getMemberExternalId().equals("m2")));
-
-        org.mockito.Mockito.doThrow(new org.springframework.dao.DataIntegrityViolationException("dup"))
-                .when(projectMemberRepo)
-                .save(org.mockito.ArgumentMatchers.argThat(pm -> ((ProjectMember) pm).getMemberExternalId().equals("m3")));
 
         service.allocateMembers(projectId, java.util.List.of("m1", "m2", "m3"));
 
@@ -531,6 +540,80 @@ class ProjectServiceTest {
                 .save(org.mockito.ArgumentMatchers.argThat(pm -> ((ProjectMember) pm).getMemberExternalId().equals("m2")));
         org.mockito.Mockito.verify(projectMemberRepo)
                 .save(org.mockito.ArgumentMatchers.argThat(pm -> ((ProjectMember) pm).getMemberExternalId().equals("m3")));
+        verify(allocationCounters).acquire(java.util.List.of("m2", "m3"));
+        verify(allocationCounters, never()).release(any());
+    }
+
+    @Test
+    @DisplayName("replaceAllocations: aplica só a diferença entre a equipe atual e a desejada")
+    void replaceAllocations_shouldApplyDiff() {
+        long projectId = 9L;
+
+        var p = new Project();
+        p.setId(projectId);
+        p.setStatus(ProjectStatus.PLANEJADO);
+
+        when(projectRepo.findByIdForUpdate(projectId)).thenReturn(Optional.of(p));
+        when(projectMemberRepo.findMemberIdsByProject(projectId)).thenReturn(java.util.List.of("m1", "m2", "m3"));
+        when(memberClient.getByIds(java.util.Set.of("m4")))
+                .thenReturn(java.util.Map.of("m4", new ExternalMemberDTO("m4", "Davi", "FUNCIONARIO")));
+        when(projectMemberRepo.deleteByProjectIdAndMember(projectId, "m1")).thenReturn(1);
+        when(projectMemberRepo.deleteByProjectIdAndMember(projectId, "m3")).thenReturn(1);
+
+        var result = service.replaceAllocations(projectId, java.util.List.of("m2", "m4", "m2"));
+
+        assertThat(result).containsExactly("m2", "m4");
+        verify(allocationCounters).release(java.util.List.of("m1", "m3"));
+        verify(statsService).membersReleased(java.util.List.of("m1", "m3"));
+        verify(allocationCounters).acquire(java.util.List.of("m4"));
+        verify(batchRepo).insertAll(java.util.List.of(new ProjectMemberId(projectId, "m4")));
+    }
+
+    @Test
+    @DisplayName("replaceAllocations: mesma equipe não altera nada; equipe vazia ou acima de 10 é rejeitada")
+    void replaceAllocations_shouldValidateBoundsAndSkipNoop() {
+        long projectId = 10L;
+
+        var p = new Project();
+        p.setId(projectId);
+        p.setStatus(ProjectStatus.EM_ANALISE);
+
+        when(projectRepo.findByIdForUpdate(projectId)).thenReturn(Optional.of(p));
+        when(projectMemberRepo.findMemberIdsByProject(projectId)).thenReturn(java.util.List.of("m1", "m2"));
+
+        assertThat(service.replaceAllocations(projectId, java.util.List.of("m2", "m1"))).containsExactly("m2", "m1");
+        assertThatThrownBy(() -> service.replaceAllocations(projectId, java.util.List.of()))
+                .isInstanceOf(BusinessRuleException.class)
+                .hasMessageContaining("at least 1");
+        var eleven = java.util.stream.IntStream.range(0, 11).mapToObj(i -> "x" + i).toList();
+        assertThatThrownBy(() -> service.replaceAllocations(projectId, eleven))
+                .isInstanceOf(BusinessRuleException.class)
+                .hasMessageContaining("max=10");
+
+        verify(memberClient, never()).getByIds(any());
+        verify(batchRepo, never()).insertAll(any());
+        verify(projectMemberRepo, never()).deleteByProjectIdAndMember(any(), any());
+        verify(events, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("replaceAllocations: membro já removido por outra transação não libera vaga de novo")
+    void replaceAllocations_shouldReleaseOnlyDeletedRows() {
+        long projectId = 12L;
+
+        var p = new Project();
+        p.setId(projectId);
+        p.setStatus(ProjectStatus.EM_ANALISE);
+
+        when(projectRepo.findByIdForUpdate(projectId)).thenReturn(Optional.of(p));
+        when(projectMemberRepo.findMemberIdsByProject(projectId)).thenReturn(java.util.List.of("m1", "m2", "m3"));
+        when(projectMemberRepo.deleteByProjectIdAndMember(projectId, "m1")).thenReturn(0);
+        when(projectMemberRepo.deleteByProjectIdAndMember(projectId, "m3")).thenReturn(1);
+
+        service.replaceAllocations(projectId, java.util.List.of("m2"));
+
+        verify(allocationCounters).release(java.util.List.of("m3"));
+        verify(statsService).membersReleased(java.util.List.of("m3"));
     }
 
     @Test
@@ -542,7 +625,7 @@ class ProjectServiceTest {
         p.setId(projectId);
         p.setStatus(ProjectStatus.ENCERRADO);
 
-        when(projectRepo.findById(projectId)).thenReturn(Optional.of(p));
+        when(projectRepo.findByIdForUpdate(projectId)).thenReturn(Optional.of(p));
 
         assertThatThrownBy(() -> service.removeMemberAllocation(projectId, "m1"))
                 .isInstanceOf(BusinessRuleException.class)
@@ -562,7 +645,7 @@ class ProjectServiceTest {
         p.setId(projectId);
         p.setStatus(ProjectStatus.EM_ANALISE);
 
-        when(projectRepo.findById(projectId)).thenReturn(Optional.of(p));
+        when(projectRepo.findByIdForUpdate(projectId)).thenReturn(Optional.of(p));
         when(projectMemberRepo.findMemberIdsByProject(projectId))
                 .thenReturn(java.util.List.of("m1"));
 
@@ -584,7 +667,7 @@ class ProjectServiceTest {
         p.setId(projectId);
         p.setStatus(ProjectStatus.EM_ANALISE);
 
-        when(projectRepo.findById(projectId)).thenReturn(Optional.of(p));
+        when(projectRepo.findByIdForUpdate(projectId)).thenReturn(Optional.of(p));
         when(projectMemberRepo.findMemberIdsByProject(projectId))
                 .thenReturn(java.util.List.of("m1", "m2")); // m3 não está alocado
 
@@ -603,13 +686,38 @@ class ProjectServiceTest {
         p.setId(projectId);
         p.setStatus(ProjectStatus.EM_ANALISE);
 
-        when(projectRepo.findById(projectId)).thenReturn(Optional.of(p));
+        when(projectRepo.findByIdForUpdate(projectId)).thenReturn(Optional.of(p));
         when(projectMemberRepo.findMemberIdsByProject(projectId))
                 .thenReturn(java.util.List.of("m1", "m2")); // >1
 
+        when(projectMemberRepo.deleteByProjectIdAndMember(projectId, "m2")).thenReturn(1);
+
         service.removeMemberAllocation(projectId, "m2");
 
         verify(projectMemberRepo).deleteByProjectIdAndMember(projectId, "m2");
+        verify(allocationCounters).release(java.util.List.of("m2"));
+        verify(statsService).membersReleased(java.util.List.of("m2"));
+    }
+
+    @Test
+    @DisplayName("removeMemberAllocation: não libera a vaga quando outra transação já removeu o membro")
+    void removeAllocation_shouldNotRelease_whenDeleteRemovedNothing() {
+        long projectId = 11L;
+
+        var p = new Project();
+        p.setId(projectId);
+        p.setStatus(ProjectStatus.EM_ANALISE);
+
+        when(projectRepo.findByIdForUpdate(projectId)).thenReturn(Optional.of(p));
+        when(projectMemberRepo.findMemberIdsByProject(projectId))
+                .thenReturn(java.util.List.of("m1", "m2"));
+        when(projectMemberRepo.deleteByProjectIdAndMember(projectId, "m2")).thenReturn(0);
+
+        service.removeMemberAllocation(projectId, "m2");
+
+        verify(allocationCounters, never()).release(any());
+        verify(statsService, never()).membersReleased(any());
+        verify(events, never()).publishEvent(any());
     }
 
     @Test
@@ -631,7 +739,7 @@ class ProjectServiceTest {
         p.setId(id);
         p.setStatus(ProjectStatus.CANCELADO);
 
-        when(projectRepo.findById(id)).thenReturn(Optional.of(p));
+        when(projectRepo.findByIdForUpdate(id)).thenReturn(Optional.of(p));
 
         service.delete(id);
 
@@ -673,4 +781,108 @@ class ProjectServiceTest {
         verify(projectRepo, never()).save(any(Project.class));
     }
     
-}
\ No newline at end of file
+
+    private static final ProjectFilter NO_FILTER = new ProjectFilter(null, null, null, null, null, null, null);
+
+    private static SliceImpl<ProjectSummary> fullSlice(PageRequest pageable) {
+        var rows = Collections.nCopies(pageable.getPageSize(), (ProjectSummary) null);
+        return new SliceImpl<>(rows, pageable, true);
+    }
+
+    @Test
+    @DisplayName("listSummaryPage: NONE não consulta total nem estimativa")
+    void listSummaryPage_none_skipsCount() {
+        var pageable = PageRequest.of(0, 2);
+        when(projectRepo.findMatchingSummarySlice(any(), eq(pageable))).thenReturn(fullSlice(pageable));
+
+        var page = service.listSummaryPage(NO_FILTER, pageable, PageTotal.NONE);
+
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page.totalElements()).isNull();
+        assertThat(page.totalMode()).isEqualTo(PageTotal.NONE);
+        verify(projectRepo, never()).countMatching(any());
+        verify(countEstimator, never()).estimate(any());
+    }
+
+    @Test
+    @DisplayName("listSummaryPage: ESTIMATED usa a estimativa do planner quando grande")
+    void listSummaryPage_estimated_usesPlannerEstimate() {
+        var pageable = PageRequest.of(0, 2);
+        when(projectRepo.findMatchingSummarySlice(any(), eq(pageable))).thenReturn(fullSlice(pageable));
+        when(countEstimator.estimate(NO_FILTER)).thenReturn(OptionalLong.of(50_000));
+
+        var page = service.listSummaryPage(NO_FILTER, pageable, PageTotal.ESTIMATED);
+
+        assertThat(page.totalElements()).isEqualTo(50_000);
+        assertThat(page.totalPages()).isEqualTo(25_000);
+        assertThat(page.totalMode()).isEqualTo(PageTotal.ESTIMATED);
+        verify(projectRepo, never()).countMatching(any());
+    }
+
+    @Test
+    @DisplayName("listSummaryPage: ESTIMATED cai para count exato sem estimativa ou com resultado pequeno")
+    void listSummaryPage_estimated_fallsBackToExactCount() {
+        var pageable = PageRequest.of(0, 2);
+        when(projectRepo.findMatchingSummarySlice(any(), eq(pageable))).thenReturn(fullSlice(pageable));
+        when(countEstimator.estimate(NO_FILTER)).thenReturn(OptionalLong.empty());
+        when(projectRepo.countMatching(NO_FILTER)).thenReturn(7L);
+
+        var page = service.listSummaryPage(NO_FILTER, pageable, PageTotal.ESTIMATED);
+
+        assertThat(page.totalElements()).isEqualTo(7);
+        assertThat(page.totalMode()).isEqualTo(PageTotal.EXACT);
+    }
+
+    @Test
+    @DisplayName("listSummaryPage: ESTIMATED na última página calcula o total sem consultas extras")
+    void listSummaryPage_estimated_lastPageIsExact() {
+        var pageable = PageRequest.of(3, 2);
+        when(projectRepo.findMatchingSummarySlice(any(), eq(pageable)))
+                .thenReturn(new SliceImpl<>(Collections.nCopies(1, (ProjectSummary) null), pageable, false));
+
+        var page = service.listSummaryPage(NO_FILTER, pageable, PageTotal.ESTIMATED);
+
+        assertThat(page.totalElements()).isEqualTo(7);
+        assertThat(page.totalMode()).isEqualTo(PageTotal.EXACT);
+        verify(countEstimator, never()).estimate(any());
+    }
+
+    private static Project projectWithId(long id) {
+        Project p = new Project();
+        p.setId(id);
+        return p;
+    }
+
+    @Test
+    @DisplayName("listPage FUZZY: candidatos cortados no limite saem com total ESTIMATED")
+    void listPage_fuzzy_truncatedCandidatesAreEstimated() {
+        var filter = new ProjectFilter("alpha", null, null, null, null, null, null);
+        var ids = LongStream.rangeClosed(1, 501).boxed().toList();
+        when(projectRepo.findIdsByFuzzyName(eq("alpha"), eq(filter), eq(501))).thenReturn(ids);
+        when(projectRepo.findAllById(List.of(3L, 4L))).thenReturn(List.of(projectWithId(4L), projectWithId(3L)));
+
+        var page = service.listPage(filter, NameMatch.FUZZY, PageRequest.of(1, 2), PageTotal.EXACT);
+
+        assertThat(page.content()).extracting(Project::getId).containsExactly(3L, 4L);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page.totalElements()).isEqualTo(500);
+        assertThat(page.totalMode()).isEqualTo(PageTotal.ESTIMATED);
+    }
+
+    @Test
+    @DisplayName("listPage FUZZY: total EXACT quando cabe no limite e ausente com NONE")
+    void listPage_fuzzy_respectsTotalMode() {
+        var filter = new ProjectFilter("alpha", null, null, null, null, null, null);
+        when(projectRepo.findIdsByFuzzyName(eq("alpha"), eq(filter), anyInt())).thenReturn(List.of(1L, 2L, 3L));
+        when(projectRepo.findAllById(List.of(1L, 2L))).thenReturn(List.of(projectWithId(1L), projectWithId(2L)));
+
+        var exact = service.listPage(filter, NameMatch.FUZZY, PageRequest.of(0, 2), PageTotal.EXACT);
+        var none = service.listPage(filter, NameMatch.FUZZY, PageRequest.of(0, 2), PageTotal.NONE);
+
+        assertThat(exact.totalElements()).isEqualTo(3);
+        assertThat(exact.totalMode()).isEqualTo(PageTotal.EXACT);
+        assertThat(none.hasNext()).isTrue();
+        assertThat(none.totalElements()).isNull();
+        assertThat(none.totalMode()).isEqualTo(PageTotal.NONE);
+    }
+}
@@ -0,0 +1,132 @@
+package com.github.dennisoliveira.portfolio.service;
+
+import com.github.dennisoliveira.portfolio.dto.PortfolioReportResponse;
+import com.github.dennisoliveira.portfolio.dto.ReportJobRequest;
+import com.github.dennisoliveira.portfolio.dto.ReportJobResponse.Status;
+import com.github.dennisoliveira.portfolio.exception.BusinessRuleException;
+import com.github.dennisoliveira.portfolio.exception.NotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.web.ErrorResponseException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReportJobServiceTest {
+
+    private final PortfolioReportService reportService = mock(PortfolioReportService.class);
+    private final List<Runnable> queued = new ArrayList<>();
+    private final TaskExecutor manualExecutor = queued::add;
+
+    private final PortfolioReportResponse report = new PortfolioReportResponse(
+            Map.of(), Map.of(), 0.0, 3L, 1L, Map.of(), PortfolioReportResponse.CountMode.EXACT, 0.0);
+
+    @Test
+    @DisplayName("pedidos idênticos em andamento compartilham o mesmo job")
+    void deduplicatesRunningJobs() {
+        var service = new ReportJobService(reportService, manualExecutor, Duration.ofMinutes(15), Clock.systemUTC());
+
+        var first = service.submit(null);
+        var second = service.submit(ReportJobRequest.snapshot());
+
+        assertThat(second.id()).isEqualTo(first.id());
+        assertThat(queued).hasSize(1);
+        assertThat(first.status()).isEqualTo(Status.PENDING);
+    }
+
+    @Test
+    @DisplayName("job concluído expõe o resultado e libera novos pedidos")
+    void completesAndReleases() {
+        when(reportService.buildFresh()).thenReturn(report);
+        var service = new ReportJobService(reportService, manualExecutor, Duration.ofMinutes(15), Clock.systemUTC());
+
+        var job = service.submit(null);
+        queued.remove(0).run();
+
+        var done = service.get(job.id());
+        assertThat(done.status()).isEqualTo(Status.DONE);
+        assertThat(done.result()).isEqualTo(report);
+        assertThat(service.submit(null).id()).isNotEqualTo(job.id());
+    }
+
+    @Test
+    @DisplayName("falha no cálculo marca o job como FAILED")
+    void failedJob() {
+        when(reportService.buildFresh()).thenThrow(new IllegalStateException("boom"));
+        var service = new ReportJobService(reportService, manualExecutor, Duration.ofMinutes(15), Clock.systemUTC());
+
+        var job = service.submit(null);
+        queued.remove(0).run();
+
+        assertThat(service.get(job.id()).status()).isEqualTo(Status.FAILED);
+        assertThat(service.get(job.id()).error()).isEqualTo("boom");
+    }
+
+    @Test
+    @DisplayName("resultados expiram após o tempo de retenção")
+    void purgesExpiredJobs() {
+        when(reportService.buildFresh()).thenReturn(report);
+        var clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        var service = new ReportJobService(reportService, manualExecutor, Duration.ofMinutes(15), clock);
+
+        var job = service.submit(null);
+        queued.remove(0).run();
+
+        clock.advance(Duration.ofMinutes(10));
+        service.purgeExpired();
+        assertThat(service.get(job.id()).status()).isEqualTo(Status.DONE);
+
+        clock.advance(Duration.ofMinutes(10));
+        service.purgeExpired();
+        assertThatThrownBy(() -> service.get(job.id())).isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("fila cheia responde 503 sem registrar o job")
+    void rejectsWhenQueueIsFull() {
+        TaskExecutor full = task -> { throw new TaskRejectedException("full"); };
+        var service = new ReportJobService(reportService, full, Duration.ofMinutes(15), Clock.systemUTC());
+
+        assertThatThrownBy(() -> service.submit(null))
+                .isInstanceOf(ErrorResponseException.class)
+                .satisfies(e -> assertThat(((ErrorResponseException) e).getStatusCode().value()).isEqualTo(503));
+    }
+
+    @Test
+    @DisplayName("TIMESERIES com to < from é rejeitado na submissão sem registrar o job")
+    void rejectsInvertedRange() {
+        var service = new ReportJobService(reportService, manualExecutor, Duration.ofMinutes(15), Clock.systemUTC());
+        var request = new ReportJobRequest(ReportJobRequest.Type.TIMESERIES, null, null,
+                LocalDate.of(2025, 6, 1), LocalDate.of(2025, 1, 1));
+
+        assertThatThrownBy(() -> service.submit(request))
+                .isInstanceOf(BusinessRuleException.class)
+                .hasMessage("to must be >= from");
+        assertThat(queued).isEmpty();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) { this.now = now; }
+
+        void advance(Duration d) { now = now.plus(d); }
+
+        @Override public ZoneOffset getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(java.time.ZoneId zone) { return this; }
+        @Override public Instant instant() { return now; }
+    }
+}
@@ -0,0 +1,43 @@
+package com.github.dennisoliveira.portfolio.service.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HyperLogLogTest {
+
+    @Test
+    @DisplayName("estimativa fica dentro de 3 erros padrão para 100k valores distintos")
+    void estimateWithinErrorBound() {
+        var hll = new HyperLogLog(14);
+        for (int i = 0; i < 100_000; i++) {
+            hll.add("member-" + i);
+            hll.add("member-" + i);
+        }
+        double error = Math.abs(hll.estimate() - 100_000) / 100_000.0;
+        assertThat(error).isLessThan(3 * hll.relativeStandardError());
+    }
+
+    @Test
+    @DisplayName("cardinalidades pequenas usam linear counting e são praticamente exatas")
+    void smallCardinality() {
+        var hll = new HyperLogLog(14);
+        for (int i = 0; i < 50; i++) hll.add("m" + i);
+        assertThat(hll.estimate()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("merge equivale à união dos conjuntos")
+    void mergeIsUnion() {
+        var a = new HyperLogLog(12);
+        var b = new HyperLogLog(12);
+        for (int i = 0; i < 1000; i++) a.add("m" + i);
+        for (int i = 500; i < 1500; i++) b.add("m" + i);
+
+        a.merge(b);
+        assertThat(Math.abs(a.estimate() - 1500) / 1500.0).isLessThan(3 * a.relativeStandardError());
+        assertThatThrownBy(() -> a.merge(new HyperLogLog(10))).isInstanceOf(IllegalArgumentException.class);
+    }
+}